@@ -1,7 +1,10 @@
 package com.edugate.edugateapi.config;
 
 import com.edugate.edugateapi.repository.UserRepository;
+import com.edugate.edugateapi.service.PasswordUpgradeService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,20 +13,42 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final PasswordUpgradeService passwordUpgradeService;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long userCacheTtlSeconds;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long userCacheMaxSize;
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    // 0 means one thread per available core
+    @Value("${app.security.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${app.security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
 
     // This bean tells Spring Security how to find a user by their email
+    // (cached, so DB-backed principals do not cost a query per request)
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        UserDetailsService lookup = username -> userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return new CachedUserDetailsService(lookup, Duration.ofSeconds(userCacheTtlSeconds),
+                userCacheMaxSize, meterRegistry);
     }
 
     // This bean is the main authentication provider
@@ -32,6 +57,8 @@ public class ApplicationConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash on successful login when the configured BCrypt cost has changed
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService);
         return authProvider;
     }
 
@@ -42,8 +69,10 @@ public class ApplicationConfig {
     }
 
     // This bean defines the password hashing algorithm
+    // (BCrypt, run on a bounded pool so login bursts cannot take over the request threads)
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcryptStrength, threads, bcryptQueueCapacity, meterRegistry);
     }
 }
\ No newline at end of file
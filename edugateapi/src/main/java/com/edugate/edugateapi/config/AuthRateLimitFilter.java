@@ -0,0 +1,210 @@
+package com.edugate.edugateapi.config;
+
+import com.edugate.edugateapi.dto.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the authentication endpoints (/api/auth/**) per client IP and per target email,
+ * before any database lookup or password hashing happens.
+ *
+ * Limits come from {@link RateLimitProperties}; each check is a constant-time operation on an
+ * in-memory {@link TokenBuckets}. Rejected requests get 429 with a Retry-After header.
+ * The email is read from the JSON body ("email"), which is buffered so the controller can still
+ * read it; bodies over {@value #MAX_BODY_BYTES} bytes or of unknown length are limited by IP only.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATHS = "/api/auth/";
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TokenBuckets buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AuthRateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buckets = new TokenBuckets(properties.getMaxBuckets());
+        meterRegistry.gauge("ratelimit.buckets", buckets, TokenBuckets::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith(AUTH_PATHS);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // 1. Find the rule for this endpoint
+        Map.Entry<String, RateLimitProperties.Endpoint> rule = findRule(request.getRequestURI());
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String ruleName = rule.getKey();
+        RateLimitProperties.Endpoint limits = rule.getValue();
+        long periodNanos = limits.getPeriod().toNanos();
+        long now = System.nanoTime();
+
+        // 2. Per client IP
+        if (limits.getPerIp() > 0) {
+            long waitNanos = buckets.tryAcquire(ruleName, ruleName + "|ip|" + request.getRemoteAddr(),
+                    limits.getPerIp(), periodNanos, now);
+            if (waitNanos > 0) {
+                reject(request, response, ruleName, "ip", waitNanos);
+                return;
+            }
+        }
+
+        // 3. Per target email (buffer the body so it can be read again downstream)
+        if (limits.getPerEmail() > 0 && isSmallJsonBody(request)) {
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request, request.getInputStream().readAllBytes());
+            request = cachedRequest;
+            String email = extractEmail(cachedRequest.body);
+            if (email != null) {
+                long waitNanos = buckets.tryAcquire(ruleName, ruleName + "|email|" + email,
+                        limits.getPerEmail(), periodNanos, now);
+                if (waitNanos > 0) {
+                    reject(request, response, ruleName, "email", waitNanos);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Full buckets carry no state, so they are dropped to keep memory proportional to active clients
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        buckets.evictIdle(System.nanoTime());
+    }
+
+    // --- Helper Methods ---
+
+    private Map.Entry<String, RateLimitProperties.Endpoint> findRule(String path) {
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+            String pattern = entry.getValue().getPath();
+            if (pattern != null && pathMatcher.match(pattern, path)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSmallJsonBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        long length = request.getContentLengthLong();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE)
+                && length > 0 && length <= MAX_BODY_BYTES;
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null; // Malformed JSON is left for the controller to reject
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        String ruleName, String keyType, long waitNanos) throws IOException {
+        meterRegistry.counter("ratelimit.rejected", "endpoint", ruleName, "key", keyType).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        ApiResponse<Object> apiResponse = ApiResponse.error(
+                "Too many requests. Please try again in " + retryAfterSeconds + " seconds.",
+                HttpStatus.TOO_MANY_REQUESTS,
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+    }
+
+    // Replays a body that was already read in full
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.edugate.edugateapi.config;
+
+import com.edugate.edugateapi.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache in front of a {@link UserDetailsService}, keyed by email.
+ *
+ * Entries expire after a fixed time and the cache is bounded in size. An entry is dropped as
+ * soon as a transaction that changed the user commits ({@link UserChangedEvent}), so a role or
+ * password change is visible on the next request. Concurrent misses for the same email wait for
+ * a single lookup. Unknown emails are not cached.
+ *
+ * Hit/miss/eviction statistics are published as the "cache.*" metrics with tag cache=userDetails.
+ */
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsService delegate;
+    private final Cache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(UserDetailsService delegate, Duration timeToLive, long maxSize,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        // A UsernameNotFoundException from the delegate propagates and nothing is cached
+        return cache.get(username, delegate::loadUserByUsername);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.email());
+    }
+}
@@ -0,0 +1,53 @@
+package com.edugate.edugateapi.config;
+
+import com.edugate.edugateapi.model.CourseStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the check constraint on courses.status in line with {@link CourseStatus}.
+ *
+ * Hibernate creates the constraint with the enum values of the day, but ddl-auto=update never
+ * widens it, so a database created before a status was added would reject that status. At
+ * startup the constraint is replaced if it is missing or lacks a value; otherwise nothing is
+ * touched. Depending on the EntityManagerFactory makes this run after Hibernate's schema update
+ * and before the web server accepts requests.
+ */
+@Slf4j
+@Component
+public class CourseStatusConstraintUpdater {
+
+    private static final String CONSTRAINT = "courses_status_check";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourseStatusConstraintUpdater(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void update() {
+        List<String> definitions = jdbcTemplate.queryForList(
+                "SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+                        "WHERE conrelid = 'courses'::regclass AND conname = ?", String.class, CONSTRAINT);
+        if (!definitions.isEmpty() && Arrays.stream(CourseStatus.values())
+                .allMatch(status -> definitions.get(0).contains("'" + status.name() + "'"))) {
+            return;
+        }
+
+        String allowed = Arrays.stream(CourseStatus.values())
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+        // One statement, so the column is never left unchecked
+        jdbcTemplate.execute("ALTER TABLE courses DROP CONSTRAINT IF EXISTS " + CONSTRAINT +
+                ", ADD CONSTRAINT " + CONSTRAINT + " CHECK (status IN (" + allowed + "))");
+        log.info("Updated {} to allow course statuses {}", CONSTRAINT, allowed);
+    }
+}
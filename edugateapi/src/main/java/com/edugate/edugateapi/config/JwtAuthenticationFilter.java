@@ -1,11 +1,16 @@
 package com.edugate.edugateapi.config;
 
+import com.edugate.edugateapi.model.User;
 import com.edugate.edugateapi.service.JwtService;
+import com.edugate.edugateapi.service.TokenRevocationService;
+import com.edugate.edugateapi.service.TokenVersionService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +28,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // When on, the principal is built from the token's claims instead of being loaded per request
+    @Value("${app.jwt.stateless-auth:true}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(
@@ -33,7 +44,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final Claims claims;
 
         // 1. Check if the Authorization header is present and valid
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -44,16 +55,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 2. Extract the token
         jwt = authHeader.substring(7); // "Bearer " is 7 chars
 
-        // 3. Extract the user email from the token
-        userEmail = jwtService.extractUsername(jwt);
+        // 3. Verify the token once and read its claims (null if invalid or expired)
+        claims = jwtService.verifyToken(jwt);
 
-        // 4. If email exists and user is not already authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Get user details from the database
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        // 4. If the token carries an email, was not revoked (e.g., logged out) and user is not already authenticated
+        if (claims != null && claims.getSubject() != null
+                && !tokenRevocationService.isRevoked(claims.getId())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Build the user from the claims, or get user details from the database
+            // (stateless mode off, or a token issued before the claims were added)
+            User principal = statelessAuth ? jwtService.toPrincipal(claims) : null;
+            UserDetails userDetails = principal != null
+                    ? principal
+                    : this.userDetailsService.loadUserByUsername(claims.getSubject());
 
-            // 5. Validate the token against the user details
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            // 5. Validate the token against the user details and the user's current token version
+            if (jwtService.isTokenValid(claims, userDetails) && isCurrentVersion(claims, userDetails)) {
                 // Create an authentication token
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -72,4 +89,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 7. Pass the request to the next filter
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Tokens issued before the user's last role or password change are rejected
+    private boolean isCurrentVersion(Claims claims, UserDetails userDetails) {
+        Long userId = ((User) userDetails).getId();
+        return jwtService.tokenVersion(claims) == tokenVersionService.currentVersion(userId);
+    }
+}
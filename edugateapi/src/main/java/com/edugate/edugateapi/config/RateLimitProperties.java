@@ -0,0 +1,37 @@
+package com.edugate.edugateapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limits applied by {@link AuthRateLimitFilter}, bound from "app.rate-limit.*".
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Most buckets kept at once; beyond it, new clients share one overflow bucket per endpoint
+    private int maxBuckets = 100_000;
+
+    // Named rules, checked in declaration order; the first whose path matches applies
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+        // Ant-style path pattern, e.g. /api/auth/login or /api/auth/**
+        private String path;
+        // Requests allowed per client IP in each period (0 = no IP limit)
+        private int perIp;
+        // Requests allowed per target email (JSON "email" field) in each period (0 = no email limit)
+        private int perEmail;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.edugate.edugateapi.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by string, one per client (IP or email) and rule.
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (the generic cell
+ * rate algorithm): a bucket allowing {@code limit} requests per {@code period} advances that time
+ * by period / limit per request and refuses a request that would push it more than one period
+ * ahead of now. This behaves exactly like a bucket of {@code limit} tokens refilled at
+ * limit / period, but a check is one CAS, with no lock and no background refill.
+ *
+ * A bucket whose time is in the past is full again, so dropping it changes nothing; those are
+ * swept out, which is what bounds memory for idle clients. If the map is still full, new keys
+ * share one overflow bucket per rule rather than growing the map.
+ *
+ * Thread-safe.
+ */
+final class TokenBuckets {
+
+    private static final String OVERFLOW_KEY = "\u0000overflow";
+
+    private final int maxBuckets;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    TokenBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Takes one token from the bucket.
+     * @param ruleName Keeps the overflow bucket of each rule separate
+     * @return 0 if allowed, otherwise how long (nanoseconds) until a token is available
+     */
+    long tryAcquire(String ruleName, String key, int limit, long periodNanos, long nowNanos) {
+        long interval = periodNanos / limit;
+        AtomicLong bucket = bucket(ruleName, key, nowNanos);
+        while (true) {
+            long arrival = bucket.get();
+            long start = Math.max(arrival, nowNanos);
+            long next = start + interval;
+            if (next - nowNanos > periodNanos) {
+                return next - nowNanos - periodNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that has refilled completely.
+     */
+    void evictIdle(long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // --- Helper Methods ---
+
+    private AtomicLong bucket(String ruleName, String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            evictIdle(nowNanos);
+            if (buckets.size() >= maxBuckets) {
+                key = ruleName + OVERFLOW_KEY;
+            }
+        }
+        // A new bucket starts full (arrival time now)
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+    }
+}
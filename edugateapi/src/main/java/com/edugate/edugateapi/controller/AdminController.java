@@ -1,6 +1,7 @@
 package com.edugate.edugateapi.controller;
 
 import com.edugate.edugateapi.dto.AdminLogDto;
+import com.edugate.edugateapi.dto.CoursePurgeDto;
 import com.edugate.edugateapi.dto.PendingCourseDto;
 import com.edugate.edugateapi.dto.UserDto;
 import com.edugate.edugateapi.model.User;
@@ -68,6 +69,18 @@ public class AdminController {
         return ResponseEntity.ok(adminService.demoteUser(userId, admin));
     }
 
+    @PutMapping("/users/revoke-tokens/{userId}")
+    @Operation(summary = "Revoke all tokens of a user", description = "Invalidate every access and refresh token issued to the user so far, signing them out on all devices")
+    @ApiResponse(responseCode = "200", description = "Tokens revoked successfully", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/users/revoke-tokens/1\",\"message\":\"Tokens revoked successfully\",\"data\":{\"id\":1,\"fullName\":\"John Doe\",\"email\":\"john@example.com\",\"phoneNumber\":\"+1-234-567-8900\",\"role\":\"ROLE_USER\"}}")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/users/revoke-tokens/1\",\"message\":\"Unauthorized\",\"data\":null}")))
+    @ApiResponse(responseCode = "404", description = "User not found", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":404,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/users/revoke-tokens/1\",\"message\":\"User not found\",\"data\":null}")))
+    @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":403,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/users/revoke-tokens/1\",\"message\":\"Forbidden - Admin role required\",\"data\":null}")))
+    public ResponseEntity<UserDto> revokeUserTokens(
+            @PathVariable Long userId,
+            @AuthenticationPrincipal User admin) {
+        return ResponseEntity.ok(adminService.revokeUserTokens(userId, admin));
+    }
+
     // --- Course Approval Endpoints (for Admin Landing Page) ---
 
     @GetMapping("/courses/pending")
@@ -103,6 +116,15 @@ public class AdminController {
                 org.springframework.http.HttpStatus.OK));
     }
 
+    @GetMapping("/courses/{courseId}/removal")
+    @Operation(summary = "Get course removal progress", description = "Approving a removal hides the course at once; its subscriptions and then the course are deleted in the background. This reports how far that has got")
+    @ApiResponse(responseCode = "200", description = "Removal progress", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/courses/5/removal\",\"message\":\"Request successful\",\"data\":{\"courseId\":5,\"courseName\":\"Spring Boot 101\",\"totalSubscriptions\":120000,\"purgedSubscriptions\":45000,\"completed\":false,\"startedAt\":\"2025-11-12T16:00:00Z\",\"completedAt\":null}}")))
+    @ApiResponse(responseCode = "404", description = "No removal approved for this course", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":404,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/courses/999/removal\",\"message\":\"No removal found for course id: 999\",\"data\":null}")))
+    @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":403,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/courses/5/removal\",\"message\":\"Forbidden - Admin role required\",\"data\":null}")))
+    public ResponseEntity<CoursePurgeDto> getCourseRemovalProgress(@PathVariable Long courseId) {
+        return ResponseEntity.ok(adminService.getCoursePurgeProgress(courseId));
+    }
+
     @PostMapping("/courses/reject/{courseId}")
     @Operation(summary = "Reject a pending course", description = "Reject a pending course with optional admin notes")
     @ApiResponse(responseCode = "200", description = "Course rejected successfully", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/admin/courses/reject/5\",\"message\":\"Course rejected successfully\",\"data\":null}")))
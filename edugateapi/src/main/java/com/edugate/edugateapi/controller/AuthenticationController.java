@@ -2,6 +2,8 @@ package com.edugate.edugateapi.controller;
 
 import com.edugate.edugateapi.dto.auth.AuthenticationRequest;
 import com.edugate.edugateapi.dto.auth.AuthenticationResponse;
+import com.edugate.edugateapi.dto.auth.LogoutRequest;
+import com.edugate.edugateapi.dto.auth.RefreshTokenRequest;
 import com.edugate.edugateapi.dto.auth.RegisterRequest;
 import com.edugate.edugateapi.service.AuthenticationService;
 import jakarta.validation.Valid;
@@ -11,9 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -62,4 +66,35 @@ public class AuthenticationController {
         // The service handles all the logic
         return ResponseEntity.ok(authenticationService.authenticate(request));
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh the access token", description = "Exchanges a refresh token for a new access token and a new refresh token. Each refresh token works once; reusing one revokes every token from the same login")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Tokens refreshed",
+        content = @Content(
+            schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class),
+            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/auth/refresh\",\"message\":\"Request successful\",\"data\":{\"token\":\"<jwt_token>\",\"refreshToken\":\"<refresh_token>\",\"expiresIn\":900,\"email\":\"user@example.com\",\"fullName\":\"John Doe\",\"role\":\"ROLE_USER\",\"id\":1}}")
+        )
+    )
+    @ApiResponse(responseCode = "400", description = "Bad request - validation failed", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Refresh token invalid, expired, revoked or already used", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/auth/refresh\",\"message\":\"Invalid refresh token\",\"data\":null}")))
+    public ResponseEntity<AuthenticationResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request
+    ) {
+        return ResponseEntity.ok(authenticationService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Log out", description = "Revokes the access token from the Authorization header until it expires. If a refresh token is given, every refresh token from the same login is revoked too")
+    @ApiResponse(responseCode = "200", description = "Logged out", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/auth/logout\",\"message\":\"Operation successful\",\"data\":null}")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Access token missing, invalid or expired", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/auth/logout\",\"message\":\"Invalid or expired access token\",\"data\":null}")))
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @RequestBody(required = false) LogoutRequest request
+    ) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authenticationService.logout(accessToken, request);
+        return ResponseEntity.ok().build();
+    }
 }
\ No newline at end of file
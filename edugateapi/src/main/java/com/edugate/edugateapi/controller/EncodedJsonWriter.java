@@ -0,0 +1,130 @@
+package com.edugate.edugateapi.controller;
+
+import com.edugate.edugateapi.service.CatalogResponseCache.EncodedJson;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a pre-encoded payload wrapped in the same success envelope that
+ * {@link GlobalResponseWrapper} produces, straight to the servlet output stream.
+ *
+ * Only the envelope's timestamp and path are encoded per request. For clients that accept gzip,
+ * the response is assembled from the payload's cached deflate stream: the envelope parts go in
+ * as uncompressed ("stored") deflate blocks around it, so nothing is compressed per request.
+ */
+final class EncodedJsonWriter {
+
+    // Must match the @JsonFormat of ApiResponse.timestamp
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private static final byte[] PREFIX_START = "{\"success\":true,\"status\":200,\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PATH_START = "\",\"path\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PREFIX_END = "\",\"message\":\"Request successful\",\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    // Magic, deflate, no flags, no mtime, no extra flags, unknown OS
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int MAX_STORED_BLOCK = 0xFFFF;
+
+    private EncodedJsonWriter() {
+    }
+
+    static void write(EncodedJson body, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] prefix = prefix(request.getRequestURI());
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        ServletOutputStream out = response.getOutputStream();
+        if (!acceptsGzip(request)) {
+            response.setContentLength(prefix.length + body.json().length + SUFFIX.length);
+            out.write(prefix);
+            out.write(body.json());
+            out.write(SUFFIX);
+            return;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(prefix);
+        crc.update(body.json());
+        crc.update(SUFFIX);
+        int uncompressedLength = prefix.length + body.json().length + SUFFIX.length;
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setContentLength(GZIP_HEADER.length + storedLength(prefix.length) + body.deflated().length
+                + storedLength(SUFFIX.length) + 8);
+        out.write(GZIP_HEADER);
+        writeStored(out, prefix, false);
+        out.write(body.deflated());
+        writeStored(out, SUFFIX, true);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, uncompressedLength);
+    }
+
+    // --- Helper Methods ---
+
+    private static byte[] prefix(String path) {
+        byte[] timestamp = TIMESTAMP.format(Instant.now()).getBytes(StandardCharsets.US_ASCII);
+        byte[] quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+
+        byte[] prefix = new byte[PREFIX_START.length + timestamp.length + PATH_START.length
+                + quotedPath.length + PREFIX_END.length];
+        int offset = 0;
+        for (byte[] part : new byte[][]{PREFIX_START, timestamp, PATH_START, quotedPath, PREFIX_END}) {
+            System.arraycopy(part, 0, prefix, offset, part.length);
+            offset += part.length;
+        }
+        return prefix;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null
+                && acceptEncoding.contains("gzip")
+                && !acceptEncoding.replace(" ", "").contains("gzip;q=0");
+    }
+
+    // Size of data written as stored blocks: 5 header bytes per block of up to 64 KiB
+    private static int storedLength(int length) {
+        int blocks = Math.max(1, (length + MAX_STORED_BLOCK - 1) / MAX_STORED_BLOCK);
+        return length + 5 * blocks;
+    }
+
+    private static void writeStored(ServletOutputStream out, byte[] data, boolean last) throws IOException {
+        int offset = 0;
+        do {
+            int length = Math.min(MAX_STORED_BLOCK, data.length - offset);
+            boolean finalBlock = last && offset + length == data.length;
+            // BFINAL bit, BTYPE 00 (stored), padded to the byte boundary; then LEN and its complement
+            out.write(finalBlock ? 1 : 0);
+            out.write(length & 0xFF);
+            out.write(length >>> 8);
+            out.write(~length & 0xFF);
+            out.write((~length >>> 8) & 0xFF);
+            out.write(data, offset, length);
+            offset += length;
+        } while (offset < data.length);
+    }
+
+    private static void writeIntLE(ServletOutputStream out, int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+        out.write((value >>> 16) & 0xFF);
+        out.write((value >>> 24) & 0xFF);
+    }
+}
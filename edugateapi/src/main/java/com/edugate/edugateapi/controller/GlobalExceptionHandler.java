@@ -5,7 +5,10 @@ import com.edugate.edugateapi.dto.ApiResponse; // <-- Import new class
 import com.edugate.edugateapi.exception.BadRequestException;
 import com.edugate.edugateapi.exception.ConflictException;
 import com.edugate.edugateapi.exception.ResourceNotFoundException; // <-- Import ResourceNotFoundException
+import com.edugate.edugateapi.exception.TooManyRequestsException;
+import com.edugate.edugateapi.exception.UnauthorizedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
@@ -113,6 +116,28 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(UnauthorizedException.class)
+        public ResponseEntity<ApiResponse<Object>> handleUnauthorizedException(UnauthorizedException ex,
+                        WebRequest request) {
+                ApiResponse<Object> response = ApiResponse.error(
+                                ex.getMessage(),
+                                HttpStatus.UNAUTHORIZED,
+                                getPath(request));
+                return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        @ExceptionHandler(TooManyRequestsException.class)
+        public ResponseEntity<ApiResponse<Object>> handleTooManyRequestsException(TooManyRequestsException ex,
+                        WebRequest request) {
+                ApiResponse<Object> response = ApiResponse.error(
+                                ex.getMessage(),
+                                HttpStatus.TOO_MANY_REQUESTS,
+                                getPath(request));
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(response);
+        }
+
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ApiResponse<Object>> handleGlobalException(Exception ex, WebRequest request) {
                 // You should log the 'ex' variable to your server logs for debugging
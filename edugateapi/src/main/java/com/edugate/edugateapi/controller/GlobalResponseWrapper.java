@@ -46,6 +46,11 @@ public class GlobalResponseWrapper implements ResponseBodyAdvice<Object> {
             return body;
         }
 
+        // A 304 Not Modified (conditional GET with a matching ETag) must go out without a body
+        if (httpStatus == HttpStatus.NOT_MODIFIED) {
+            return null;
+        }
+
         // Don't wrap file/image responses
         if (body instanceof org.springframework.core.io.Resource) {
             return body;
@@ -1,8 +1,10 @@
 package com.edugate.edugateapi.controller;
 
+import com.edugate.edugateapi.dto.CursorPageResponse;
 import com.edugate.edugateapi.dto.course.CourseResponse;
 import com.edugate.edugateapi.model.User;
 import com.edugate.edugateapi.service.CourseService;
+import com.edugate.edugateapi.service.UserService;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.Operation;
@@ -80,13 +82,29 @@ public class InstructorController {
     }
 
     /**
-     * Endpoint for an instructor to see all the courses they have submitted.
+     * Endpoint for an instructor to page through the courses they have submitted, newest first.
      */
     @GetMapping("/courses/my-courses")
-    @Operation(summary = "Get instructor's courses", description = "Retrieve all courses submitted by the authenticated instructor, regardless of approval status")
+    @Operation(summary = "Get instructor's courses (paged)", description = "Retrieve a page of the courses submitted by the authenticated instructor, regardless of approval status, newest first, with the total count. Pass the returned nextCursor to get the following page")
+    @ApiResponse(responseCode = "200", description = "Page of the instructor's courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/instructor/courses/my-courses\",\"message\":\"Request successful\",\"data\":{\"items\":[{\"id\":10,\"courseName\":\"Advanced Spring\",\"status\":\"APPROVED\"}],\"nextCursor\":\"MTczMTQyNzIwMDowOjEw\",\"hasMore\":true,\"total\":24}}")))
+    @ApiResponse(responseCode = "400", description = "Invalid page cursor", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Forbidden - Instructor role required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":403,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/instructor/courses/my-courses\",\"message\":\"Forbidden - Instructor role required\",\"data\":null}")))
+    public ResponseEntity<CursorPageResponse<CourseResponse>> getMyCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal User instructorUser
+    ) {
+        return ResponseEntity.ok(courseService.getMyCoursesPage(instructorUser, cursor, size));
+    }
+
+    /**
+     * Endpoint for an instructor to see all the courses they have submitted in one unpaged list (opt-in with ?all=true).
+     */
+    @GetMapping(value = "/courses/my-courses", params = "all=true")
+    @Operation(summary = "Get all of instructor's courses", description = "Retrieve every course submitted by the authenticated instructor, regardless of approval status, in a single list (opt-in with all=true)")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved instructor's courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/instructor/courses/my-courses\",\"message\":\"My courses\",\"data\":[{\"id\":10,\"courseName\":\"Advanced Spring\",\"instructor\":\"Dr. John\",\"category\":\"Backend\",\"videoLink\":\"https://youtube.com/watch?v=xyz\",\"status\":\"APPROVED\"}]}")))
     @ApiResponse(responseCode = "403", description = "Forbidden - Instructor role required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":403,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/instructor/courses/my-courses\",\"message\":\"Forbidden - Instructor role required\",\"data\":null}")))
-    public ResponseEntity<List<CourseResponse>> getMyCourses(
+    public ResponseEntity<List<CourseResponse>> getAllMyCourses(
             @AuthenticationPrincipal User instructorUser
     ) {
         List<CourseResponse> courses = courseService.getMyCourses(instructorUser);
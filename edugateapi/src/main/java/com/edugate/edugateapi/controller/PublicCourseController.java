@@ -1,20 +1,40 @@
 package com.edugate.edugateapi.controller;
 
+import com.edugate.edugateapi.dto.CursorPageResponse;
 import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.dto.course.FacetsResponse;
+import com.edugate.edugateapi.dto.course.SuggestionResponse;
+import com.edugate.edugateapi.dto.course.TrendingCourseResponse;
+import com.edugate.edugateapi.service.CourseExportService;
+import com.edugate.edugateapi.service.CourseFacetService;
+import com.edugate.edugateapi.service.CourseSearchService;
+import com.edugate.edugateapi.service.CourseSuggestService;
+import com.edugate.edugateapi.service.TrendingService;
 import com.edugate.edugateapi.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Public endpoints for browsing courses without authentication.
@@ -27,15 +47,155 @@ import java.util.List;
 public class PublicCourseController {
 
     private final UserService userService;
+    private final CourseSearchService courseSearchService;
+    private final CourseSuggestService courseSuggestService;
+    private final CourseFacetService courseFacetService;
+    private final CourseExportService courseExportService;
+    private final TrendingService trendingService;
 
     /**
-     * Gets all live/published courses (public, no auth required).
+     * Gets one page of live/published courses, newest first (public, no auth required).
      */
     @GetMapping
-    @Operation(summary = "Get all live courses", description = "Retrieve all courses that are currently live/published - no authentication required")
+    @Operation(summary = "Get live courses (paged)", description = "Retrieve a page of courses that are currently live/published, newest first, optionally filtered by category. Pass the returned nextCursor to get the following page - no authentication required")
+    @ApiResponse(responseCode = "200", description = "Page of live courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page cursor", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<CursorPageResponse<CourseResponse>> getLiveCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String category,
+            WebRequest webRequest
+    ) {
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag())) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        return ResponseEntity.ok(userService.getLiveCoursesPage(cursor, size, category));
+    }
+
+    /**
+     * Gets all live/published courses in one unpaged list (public, no auth required).
+     * Only served when the client explicitly opts in with ?all=true.
+     */
+    @GetMapping(params = "all=true")
+    @Operation(summary = "Get all live courses", description = "Retrieve every course that is currently live/published in a single list (opt-in with all=true) - no authentication required")
     @ApiResponse(responseCode = "200", description = "List of live courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
-    public ResponseEntity<List<CourseResponse>> getAllLiveCourses() {
-        return ResponseEntity.ok(userService.getAllLiveCourses());
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public void getAllLiveCourses(WebRequest webRequest,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag())) {
+            return; // 304 Not Modified; status and ETag already set
+        }
+        EncodedJsonWriter.write(userService.getAllLiveCoursesJson(), request, response);
+    }
+
+    /**
+     * Full-text search over live courses by name, instructor and category (public, no auth required).
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search live courses", description = "Ranked full-text search over course name, instructor and category. Words may be typed partially (prefix match) - no authentication required")
+    @ApiResponse(responseCode = "200", description = "Page of matching courses, best match first", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing or too long query", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<Page<CourseResponse>> searchCourses(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + CourseSearchService.DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest
+    ) {
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag())) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        return ResponseEntity.ok(courseSearchService.search(query, page, size));
+    }
+
+    /**
+     * Typo-tolerant lookup of live courses by course or instructor name (public, no auth required).
+     */
+    @GetMapping("/fuzzy")
+    @Operation(summary = "Fuzzy lookup of live courses", description = "Find live courses whose name or instructor resembles the query, even when misspelled. Most similar first - no authentication required")
+    @ApiResponse(responseCode = "200", description = "List of similar courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing, too short or too long query", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<List<CourseResponse>> fuzzyLookup(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "" + CourseSearchService.DEFAULT_FUZZY_LIMIT) int limit,
+            WebRequest webRequest
+    ) {
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag())) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        return ResponseEntity.ok(courseSearchService.fuzzyLookup(query, limit));
+    }
+
+    /**
+     * Search-as-you-type suggestions for a prefix (public, no auth required).
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete course names, instructors and categories", description = "Top suggestions whose text, or one of its words, starts with the prefix; most common first - no authentication required")
+    @ApiResponse(responseCode = "200", description = "List of suggestions (empty for a blank prefix)", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "" + CourseSuggestService.DEFAULT_LIMIT) int limit,
+            WebRequest webRequest
+    ) {
+        if (webRequest.checkNotModified(userService.getLiveCatalogContentETag())) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        return ResponseEntity.ok(courseSuggestService.suggest(prefix, limit));
+    }
+
+    /**
+     * Live course counts per category and per instructor, for the browse filters (public, no auth required).
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Get live course counts per category and instructor", description = "Counts of live courses per category and per instructor, largest first - no authentication required")
+    @ApiResponse(responseCode = "200", description = "Facet counts", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<FacetsResponse> getFacets(WebRequest webRequest) {
+        if (webRequest.checkNotModified(userService.getLiveCatalogContentETag())) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        return ResponseEntity.ok(courseFacetService.getFacets());
+    }
+
+    /**
+     * Live courses with the most recent subscriptions (public, no auth required).
+     */
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending courses", description = "Live courses ranked by recent subscriptions, each counting half as much per half-life (24h by default) since it was made. Best first - no authentication required")
+    @ApiResponse(responseCode = "200", description = "List of trending courses with their scores", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    public ResponseEntity<List<TrendingCourseResponse>> getTrending(
+            @RequestParam(defaultValue = "" + TrendingService.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(trendingService.getTrending(limit));
+    }
+
+    /**
+     * Downloads every live course as NDJSON or CSV, streamed row by row (public, no auth required).
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export all live courses", description = "Stream every live course as newline-delimited JSON (format=ndjson) or CSV (format=csv). Rows are read from a database cursor and written as they arrive - no authentication required")
+    @ApiResponse(responseCode = "200", description = "NDJSON or CSV file of live courses")
+    @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<StreamingResponseBody> exportLiveCourses(
+            @RequestParam(defaultValue = "ndjson") String format,
+            WebRequest webRequest
+    ) {
+        CourseExportService.Format exportFormat = CourseExportService.Format.parse(format);
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag())) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        // Runs on an async thread once headers are sent; the body is never buffered in full
+        StreamingResponseBody body = out -> courseExportService.exportLiveCourses(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.getFileName()).build().toString())
+                .body(body);
     }
 
     /**
@@ -45,9 +205,17 @@ public class PublicCourseController {
     @Operation(summary = "Get a single live course", description = "Retrieve a specific course by ID if it is live/published - no authentication required")
     @ApiResponse(responseCode = "200", description = "Course details", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
     @ApiResponse(responseCode = "404", description = "Course not found", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
-    public ResponseEntity<CourseResponse> getLiveCourseById(
-            @PathVariable Long courseId
-    ) {
-        return ResponseEntity.ok(userService.getLiveCourseById(courseId));
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public void getLiveCourseById(
+            @PathVariable Long courseId,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Optional<String> etag = userService.getLiveCourseETag(courseId);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return; // 304 Not Modified; status and ETag already set
+        }
+        EncodedJsonWriter.write(userService.getLiveCourseJson(courseId), request, response);
     }
 }
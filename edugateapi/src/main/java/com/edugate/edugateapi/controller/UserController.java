@@ -149,12 +149,18 @@
 // }
 package com.edugate.edugateapi.controller;
 
+import com.edugate.edugateapi.dto.CursorPageResponse;
 import com.edugate.edugateapi.dto.UserProfileDto;
 import com.edugate.edugateapi.dto.auth.ChangePasswordRequest;
+import com.edugate.edugateapi.dto.course.BulkSubscriptionRequest;
+import com.edugate.edugateapi.dto.course.BulkSubscriptionResponse;
 import com.edugate.edugateapi.dto.course.CourseResponse;
 import com.edugate.edugateapi.model.User;
+import com.edugate.edugateapi.service.RecommendationService;
 import com.edugate.edugateapi.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -166,8 +172,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/user")
@@ -182,14 +191,41 @@ public class UserController {
     // --- Course Browsing & Subscription ---
 
     /**
-     * Gets all *LIVE* courses for the main dashboard.
+     * Gets one page of *LIVE* courses for the main dashboard, newest first.
      */
     @GetMapping("/courses")
-    @Operation(summary = "Get live courses", description = "Retrieve all courses that are currently live/published")
+    @Operation(summary = "Get live courses (paged)", description = "Retrieve a page of courses that are currently live/published, newest first, optionally filtered by category. Each course says whether the current user is subscribed to it (isSubscribed). Pass the returned nextCursor to get the following page")
+    @ApiResponse(responseCode = "200", description = "Page of live courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses\",\"message\":\"Request successful\",\"data\":{\"items\":[{\"id\":1,\"courseName\":\"Intro to Java\",\"isSubscribed\":true}],\"nextCursor\":\"MTczMTQyNzIwMDowOjE\",\"hasMore\":true}}")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Valid JWT required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses\",\"message\":\"Unauthorized - Valid JWT required\",\"data\":null}")))
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public ResponseEntity<CursorPageResponse<CourseResponse>> getLiveCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String category,
+            WebRequest webRequest,
+            @AuthenticationPrincipal User user
+    ) {
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag(user))) {
+            return null; // 304 Not Modified; status and ETag already set
+        }
+        return ResponseEntity.ok(userService.getLiveCoursesPage(cursor, size, category, user));
+    }
+
+    /**
+     * Gets all *LIVE* courses in one unpaged list (opt-in with ?all=true).
+     */
+    @GetMapping(value = "/courses", params = "all=true")
+    @Operation(summary = "Get all live courses", description = "Retrieve every course that is currently live/published in a single list (opt-in with all=true)")
     @ApiResponse(responseCode = "200", description = "List of live courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses\",\"message\":\"Live courses retrieved\",\"data\":[{\"id\":1,\"title\":\"Intro to Java\",\"summary\":\"Basics of Java programming\"}]}")))
     @ApiResponse(responseCode = "401", description = "Unauthorized - Valid JWT required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses\",\"message\":\"Unauthorized - Valid JWT required\",\"data\":null}")))
-    public ResponseEntity<List<CourseResponse>> getAllLiveCourses() {
-        return ResponseEntity.ok(userService.getAllLiveCourses());
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public void getAllLiveCourses(WebRequest webRequest,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(userService.getLiveCatalogETag())) {
+            return; // 304 Not Modified; status and ETag already set
+        }
+        EncodedJsonWriter.write(userService.getAllLiveCoursesJson(), request, response);
     }
 
     /**
@@ -199,20 +235,60 @@ public class UserController {
     @Operation(summary = "Get single live course", description = "Retrieve one course by its ID, if it is live/published")
     @ApiResponse(responseCode = "200", description = "Course details retrieved", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
     @ApiResponse(responseCode = "404", description = "Course not found", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
-    public ResponseEntity<CourseResponse> getLiveCourseById(
-            @PathVariable Long courseId
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
+    public void getLiveCourseById(
+            @PathVariable Long courseId,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Optional<String> etag = userService.getLiveCourseETag(courseId);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return; // 304 Not Modified; status and ETag already set
+        }
+        EncodedJsonWriter.write(userService.getLiveCourseJson(courseId), request, response);
+    }
+
+    /**
+     * Gets the courses most often taken together with a live course ("users who took this also took").
+     */
+    @GetMapping("/courses/{courseId}/related")
+    @Operation(summary = "Get related courses", description = "Live courses that users subscribed to this course most often also subscribed to, most common first. Each course says whether the current user is subscribed to it (isSubscribed)")
+    @ApiResponse(responseCode = "200", description = "List of related courses (possibly empty)", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/1/related\",\"message\":\"Request successful\",\"data\":[{\"id\":7,\"courseName\":\"Spring Data JPA\",\"isSubscribed\":false}]}")))
+    @ApiResponse(responseCode = "400", description = "Course is not currently available", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Course not found", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    public ResponseEntity<List<CourseResponse>> getRelatedCourses(
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "" + RecommendationService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal User user
     ) {
-        return ResponseEntity.ok(userService.getLiveCourseById(courseId));
+        return ResponseEntity.ok(userService.getRelatedCourses(courseId, limit, user));
     }
 
     /**
-     * Gets all courses the logged-in user is subscribed to (for "My Courses" page).
+     * Gets one page of the courses the logged-in user is subscribed to (for "My Courses" page), most recent first.
      */
     @GetMapping("/courses/my-subscriptions")
-    @Operation(summary = "Get my subscriptions", description = "Retrieve the list of courses the current user is subscribed to")
+    @Operation(summary = "Get my subscriptions (paged)", description = "Retrieve a page of the courses the current user is subscribed to, most recently subscribed first, with the total count. Pass the returned nextCursor to get the following page")
+    @ApiResponse(responseCode = "200", description = "Page of subscribed courses", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/my-subscriptions\",\"message\":\"Request successful\",\"data\":{\"items\":[{\"id\":2,\"courseName\":\"Spring Boot Basics\"}],\"nextCursor\":\"MTczMTQyNzIwMDowOjI\",\"hasMore\":true,\"total\":137}}")))
+    @ApiResponse(responseCode = "400", description = "Invalid page cursor", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Valid JWT required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/my-subscriptions\",\"message\":\"Unauthorized - Valid JWT required\",\"data\":null}")))
+    public ResponseEntity<CursorPageResponse<CourseResponse>> getMySubscriptions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(userService.getMySubscriptionsPage(user, cursor, size));
+    }
+
+    /**
+     * Gets all courses the logged-in user is subscribed to in one unpaged list (opt-in with ?all=true).
+     */
+    @GetMapping(value = "/courses/my-subscriptions", params = "all=true")
+    @Operation(summary = "Get all my subscriptions", description = "Retrieve every course the current user is subscribed to in a single list (opt-in with all=true)")
     @ApiResponse(responseCode = "200", description = "List of subscriptions", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/my-subscriptions\",\"message\":\"Subscriptions retrieved\",\"data\":[{\"id\":2,\"title\":\"Spring Boot Basics\",\"summary\":\"Build REST APIs with Spring Boot\"}]}")))
     @ApiResponse(responseCode = "401", description = "Unauthorized - Valid JWT required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/my-subscriptions\",\"message\":\"Unauthorized - Valid JWT required\",\"data\":null}")))
-    public ResponseEntity<List<CourseResponse>> getMySubscriptions(
+    public ResponseEntity<List<CourseResponse>> getAllMySubscriptions(
             @AuthenticationPrincipal User user
     ) {
         return ResponseEntity.ok(userService.getMySubscriptions(user));
@@ -252,6 +328,36 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Subscribes the logged-in user to several courses at once.
+     */
+    @PostMapping("/courses/bulk-subscribe")
+    @Operation(summary = "Subscribe to several courses", description = "Subscribe the authenticated user to up to 100 courses in one transaction. Each course gets its own outcome: SUBSCRIBED, ALREADY_SUBSCRIBED, NOT_AVAILABLE or NOT_FOUND")
+    @ApiResponse(responseCode = "200", description = "Per-course outcomes", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/bulk-subscribe\",\"message\":\"Request successful\",\"data\":{\"changed\":1,\"results\":[{\"courseId\":1,\"outcome\":\"SUBSCRIBED\"},{\"courseId\":2,\"outcome\":\"ALREADY_SUBSCRIBED\"}]}}")))
+    @ApiResponse(responseCode = "400", description = "Bad request - empty list or more than 100 course ids", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":400,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/bulk-subscribe\",\"message\":\"At most 100 course ids per request\",\"data\":null}")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Valid JWT required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/bulk-subscribe\",\"message\":\"Unauthorized - Valid JWT required\",\"data\":null}")))
+    public ResponseEntity<BulkSubscriptionResponse> bulkSubscribe(
+            @Valid @RequestBody BulkSubscriptionRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(userService.bulkSubscribe(request.getCourseIds(), user));
+    }
+
+    /**
+     * Unsubscribes the logged-in user from several courses at once.
+     */
+    @PostMapping("/courses/bulk-unsubscribe")
+    @Operation(summary = "Unsubscribe from several courses", description = "Remove the authenticated user's subscriptions to up to 100 courses in one statement. Each course gets its own outcome: UNSUBSCRIBED or NOT_SUBSCRIBED")
+    @ApiResponse(responseCode = "200", description = "Per-course outcomes", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":true,\"status\":200,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/bulk-unsubscribe\",\"message\":\"Request successful\",\"data\":{\"changed\":1,\"results\":[{\"courseId\":1,\"outcome\":\"UNSUBSCRIBED\"},{\"courseId\":2,\"outcome\":\"NOT_SUBSCRIBED\"}]}}")))
+    @ApiResponse(responseCode = "400", description = "Bad request - empty list or more than 100 course ids", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":400,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/bulk-unsubscribe\",\"message\":\"At most 100 course ids per request\",\"data\":null}")))
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Valid JWT required", content = @Content(schema = @Schema(implementation = com.edugate.edugateapi.dto.ApiResponse.class), examples = @io.swagger.v3.oas.annotations.media.ExampleObject(value = "{\"success\":false,\"status\":401,\"timestamp\":\"2025-11-12T16:00:00Z\",\"path\":\"/api/user/courses/bulk-unsubscribe\",\"message\":\"Unauthorized - Valid JWT required\",\"data\":null}")))
+    public ResponseEntity<BulkSubscriptionResponse> bulkUnsubscribe(
+            @Valid @RequestBody BulkSubscriptionRequest request,
+            @AuthenticationPrincipal User user
+    ) {
+        return ResponseEntity.ok(userService.bulkUnsubscribe(request.getCourseIds(), user));
+    }
+
     // --- Profile Management ---
 
     /**
@@ -271,10 +377,7 @@ public class UserController {
     public ResponseEntity<UserProfileDto> getMyProfile(
             @AuthenticationPrincipal User user
     ) {
-        UserProfileDto profile = new UserProfileDto();
-        profile.setFullName(user.getFullName());
-        profile.setPhoneNumber(user.getPhoneNumber());
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok(userService.getMyProfile(user));
     }
 
     /**
@@ -0,0 +1,46 @@
+package com.edugate.edugateapi.dto;
+
+import com.edugate.edugateapi.model.CoursePurgeJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@Schema(description = "Progress of a course removal running in the background")
+public class CoursePurgeDto {
+    @Schema(description = "ID of the removed course", example = "5")
+    private Long courseId;
+
+    @Schema(description = "Name of the removed course", example = "Spring Boot 101")
+    private String courseName;
+
+    @Schema(description = "Subscriptions when the removal was approved", example = "120000")
+    private long totalSubscriptions;
+
+    @Schema(description = "Subscriptions deleted so far", example = "45000")
+    private long purgedSubscriptions;
+
+    @Schema(description = "True once all subscriptions and the course itself are deleted", example = "false")
+    private boolean completed;
+
+    @Schema(description = "When the removal was approved")
+    private Instant startedAt;
+
+    @Schema(description = "When the course row was deleted (null while running)")
+    private Instant completedAt;
+
+    public static CoursePurgeDto fromEntity(CoursePurgeJob job) {
+        return CoursePurgeDto.builder()
+                .courseId(job.getCourseId())
+                .courseName(job.getCourseName())
+                .totalSubscriptions(job.getTotalSubscriptions())
+                .purgedSubscriptions(job.getPurgedSubscriptions())
+                .completed(job.getCompletedAt() != null)
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
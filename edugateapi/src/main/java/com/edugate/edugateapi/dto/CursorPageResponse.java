@@ -0,0 +1,32 @@
+package com.edugate.edugateapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "One page of a cursor-paginated listing")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Items on this page")
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor to pass back for the next page; absent on the last page",
+            example = "MTczMTQyNzIwMDowOjQy")
+    private String nextCursor;
+
+    @Schema(description = "True if there are more items after this page", example = "true")
+    private boolean hasMore;
+
+    @Schema(description = "Total number of items over all pages; only on listings that keep a count", example = "137")
+    private Long total;
+}
@@ -2,6 +2,7 @@ package com.edugate.edugateapi.dto;
 
 import com.edugate.edugateapi.model.Course;
 import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.repository.CourseView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -65,4 +66,24 @@ public class PendingCourseDto {
                 .thumbnailUrl(thumbnailUrl)
                 .build();
     }
-}
\ No newline at end of file
+
+    public static PendingCourseDto fromView(CourseView view, String baseUrl) {
+        String thumbnailUrl = null;
+        if (view.thumbnail() != null && !view.thumbnail().isEmpty()) {
+            thumbnailUrl = baseUrl + "/api/images/" + view.thumbnail();
+        }
+
+        return PendingCourseDto.builder()
+                .id(view.id())
+                .courseName(view.courseName())
+                .instructorName(view.instructor())
+                .creatorEmail(view.creatorEmail())
+                .creatorId(view.createdById())
+                .status(view.status())
+                .createdAt(view.createdAt())
+                .category(view.category())
+                .videoLink(view.videoLink())
+                .thumbnailUrl(thumbnailUrl)
+                .build();
+    }
+}
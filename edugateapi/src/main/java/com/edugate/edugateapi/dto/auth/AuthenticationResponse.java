@@ -16,6 +16,12 @@ public class AuthenticationResponse {
     
     @Schema(description = "JWT authentication token for subsequent requests", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String token; // The JWT
+
+    @Schema(description = "Opaque token to get a new access token from /api/auth/refresh; single use", example = "q3Jm0Yb7...")
+    private String refreshToken;
+
+    @Schema(description = "Seconds until the access token expires", example = "900")
+    private Long expiresIn;
     
     @Schema(description = "User email address", example = "user@example.com")
     private String email;
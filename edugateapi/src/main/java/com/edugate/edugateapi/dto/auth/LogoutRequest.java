@@ -0,0 +1,18 @@
+package com.edugate.edugateapi.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Optional refresh token to revoke along with the access token")
+public class LogoutRequest {
+
+    @Schema(description = "Refresh token from the same login; its whole family is revoked", example = "q3Jm0Yb7...")
+    private String refreshToken;
+}
@@ -0,0 +1,27 @@
+package com.edugate.edugateapi.dto.course;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Courses to subscribe to or unsubscribe from in one request")
+public class BulkSubscriptionRequest {
+
+    public static final int MAX_COURSES = 100;
+
+    @NotEmpty(message = "At least one course id is required")
+    @Size(max = MAX_COURSES, message = "At most " + MAX_COURSES + " course ids per request")
+    @Schema(description = "Course IDs; duplicates are ignored", example = "[1, 2, 5]")
+    private List<@NotNull(message = "Course ids must not be null") Long> courseIds;
+}
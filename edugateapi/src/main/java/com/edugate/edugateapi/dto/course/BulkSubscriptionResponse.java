@@ -0,0 +1,45 @@
+package com.edugate.edugateapi.dto.course;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk subscribe or unsubscribe, per course")
+public class BulkSubscriptionResponse {
+
+    @Schema(description = "Number of courses actually subscribed to or unsubscribed from", example = "2")
+    private int changed;
+
+    @Schema(description = "One entry per distinct course id, in request order")
+    private List<Item> results;
+
+    public enum Outcome {
+        SUBSCRIBED,
+        ALREADY_SUBSCRIBED,
+        UNSUBSCRIBED,
+        NOT_SUBSCRIBED,
+        NOT_AVAILABLE, // Exists but is not live
+        NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "What happened to one course")
+    public static class Item {
+        @Schema(description = "Course ID", example = "5")
+        private Long courseId;
+
+        @Schema(description = "Outcome for this course", example = "SUBSCRIBED")
+        private Outcome outcome;
+    }
+}
@@ -2,12 +2,17 @@ package com.edugate.edugateapi.dto.course;
 
 import com.edugate.edugateapi.model.Course;
 import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.repository.CourseView;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.Instant;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Course representation returned by the API")
 public class CourseResponse {
     @Schema(description = "Course id", example = "10")
@@ -37,6 +42,18 @@ public class CourseResponse {
     @Schema(description = "Email of the course creator", example = "instructor@example.com")
     private String creatorEmail;
 
+    @Schema(description = "When the course was created/submitted")
+    private Instant createdAt;
+
+    @Schema(description = "Number of subscribed users; may lag a few seconds behind new subscriptions", example = "128")
+    private int subscriberCount;
+
+    // Only set where the response is built for one user (the logged-in course listing)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("isSubscribed")
+    @Schema(description = "Whether the current user is subscribed to the course; absent on shared (public or cached) responses", example = "true")
+    private Boolean subscribed;
+
     /**
      * Converts a Course @Entity into a DTO.
      * @param course The entity from the database
@@ -60,6 +77,35 @@ public class CourseResponse {
                 .status(course.getStatus())
                 .createdById(course.getCreatedBy().getId())
                 .creatorEmail(course.getCreatedBy().getEmail())
+                .createdAt(course.getCreatedAt())
+                .subscriberCount(course.getSubscriberCount())
+                .build();
+    }
+
+    /**
+     * Converts a read-only CourseView projection into a DTO.
+     * @param view The projection from the database
+     * @param baseUrl The base URL of the server (e.g., "http://localhost:8080")
+     * @return A CourseResponse DTO
+     */
+    public static CourseResponse fromView(CourseView view, String baseUrl) {
+        String thumbnailUrl = null;
+        if (view.thumbnail() != null && !view.thumbnail().isEmpty()) {
+            thumbnailUrl = baseUrl + "/api/images/" + view.thumbnail();
+        }
+
+        return CourseResponse.builder()
+                .id(view.id())
+                .courseName(view.courseName())
+                .instructor(view.instructor())
+                .category(view.category())
+                .videoLink(view.videoLink())
+                .thumbnailUrl(thumbnailUrl)
+                .status(view.status())
+                .createdById(view.createdById())
+                .creatorEmail(view.creatorEmail())
+                .createdAt(view.createdAt())
+                .subscriberCount(view.subscriberCount())
                 .build();
     }
-}
\ No newline at end of file
+}
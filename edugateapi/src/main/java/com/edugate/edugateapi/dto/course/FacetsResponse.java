@@ -0,0 +1,39 @@
+package com.edugate.edugateapi.dto.course;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Live course counts for the browse filters")
+public class FacetsResponse {
+
+    @Schema(description = "Total number of live courses", example = "42")
+    private long totalCourses;
+
+    @Schema(description = "Live course count per category, largest first")
+    private List<FacetCount> categories;
+
+    @Schema(description = "Live course count per instructor, largest first")
+    private List<FacetCount> instructors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "One filter value and how many live courses have it")
+    public static class FacetCount {
+        @Schema(description = "Category or instructor name", example = "Backend Development")
+        private String value;
+
+        @Schema(description = "Number of live courses", example = "7")
+        private long count;
+    }
+}
@@ -0,0 +1,26 @@
+package com.edugate.edugateapi.dto.course;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One search-as-you-type suggestion")
+public class SuggestionResponse {
+
+    public enum SuggestionType { COURSE, INSTRUCTOR, CATEGORY }
+
+    @Schema(description = "Text to show and to search for", example = "Spring Boot Fundamentals")
+    private String text;
+
+    @Schema(description = "What the text is: a course name, an instructor or a category", example = "COURSE")
+    private SuggestionType type;
+
+    @Schema(description = "Number of live courses with this name, instructor or category", example = "3")
+    private long courseCount;
+}
@@ -0,0 +1,21 @@
+package com.edugate.edugateapi.dto.course;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One course on the trending leaderboard")
+public class TrendingCourseResponse {
+
+    @Schema(description = "The live course")
+    private CourseResponse course;
+
+    @Schema(description = "Recent subscriptions, each counting half as much per half-life (24h by default) since it was made", example = "12.75")
+    private double score;
+}
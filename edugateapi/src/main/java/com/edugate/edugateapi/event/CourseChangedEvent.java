@@ -0,0 +1,9 @@
+package com.edugate.edugateapi.event;
+
+/**
+ * Published whenever a course is created, edited, deleted or changes status.
+ * Listeners that keep in-memory views of the catalog react after the transaction commits.
+ * @param courseId The ID of the course that changed (it may no longer exist)
+ */
+public record CourseChangedEvent(Long courseId) {
+}
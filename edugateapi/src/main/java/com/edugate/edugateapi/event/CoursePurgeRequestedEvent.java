@@ -0,0 +1,9 @@
+package com.edugate.edugateapi.event;
+
+/**
+ * Published when a course removal is approved. Once the transaction commits, the course's
+ * subscriptions are purged in the background and the course row is deleted.
+ * @param courseId The ID of the course to remove
+ */
+public record CoursePurgeRequestedEvent(Long courseId) {
+}
@@ -0,0 +1,9 @@
+package com.edugate.edugateapi.event;
+
+/**
+ * Published when the removal of a live course is approved. The course is hidden at once and its
+ * subscriptions are purged in the background. Listeners react after the transaction commits.
+ * @param courseId The ID of the course being removed
+ */
+public record CourseRemovedEvent(Long courseId) {
+}
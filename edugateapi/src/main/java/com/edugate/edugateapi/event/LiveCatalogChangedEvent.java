@@ -0,0 +1,12 @@
+package com.edugate.edugateapi.event;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+
+/**
+ * Published by the live course catalog after it swapped in a snapshot with one course
+ * added, replaced or removed. Lets secondary indexes update incrementally.
+ * @param previous The live entry before the change, or null if the course was not live
+ * @param current The live entry after the change, or null if the course is no longer live
+ */
+public record LiveCatalogChangedEvent(CourseResponse previous, CourseResponse current) {
+}
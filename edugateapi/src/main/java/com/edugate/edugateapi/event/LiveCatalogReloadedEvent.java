@@ -0,0 +1,13 @@
+package com.edugate.edugateapi.event;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+
+import java.util.List;
+
+/**
+ * Published by the live course catalog after a full reload from the database.
+ * Secondary indexes rebuild themselves from the given courses.
+ * @param courses Every live course, newest first (immutable)
+ */
+public record LiveCatalogReloadedEvent(List<CourseResponse> courses) {
+}
@@ -0,0 +1,10 @@
+package com.edugate.edugateapi.event;
+
+import java.util.Map;
+
+/**
+ * Published after a batch of subscriber count changes was written to the courses table.
+ * @param counts The new subscriber count of every course in the batch, by course ID
+ */
+public record SubscriberCountsFlushedEvent(Map<Long, Integer> counts) {
+}
@@ -0,0 +1,13 @@
+package com.edugate.edugateapi.event;
+
+import java.util.Collection;
+
+/**
+ * Published when a user subscribes to or unsubscribes from one or more courses.
+ * Listeners react after the transaction commits.
+ * @param userId The subscriber
+ * @param courseIds The courses subscribed to or unsubscribed from
+ * @param delta +1 for new subscriptions, -1 for removed ones
+ */
+public record SubscriptionsChangedEvent(Long userId, Collection<Long> courseIds, int delta) {
+}
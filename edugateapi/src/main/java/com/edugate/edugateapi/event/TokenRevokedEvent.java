@@ -0,0 +1,12 @@
+package com.edugate.edugateapi.event;
+
+import java.time.Instant;
+
+/**
+ * Published when a single access token is revoked (e.g., on logout).
+ * Listeners react after the transaction commits.
+ * @param jti The token's "jti" claim
+ * @param expiresAt When the token expires anyway
+ */
+public record TokenRevokedEvent(String jti, Instant expiresAt) {
+}
@@ -0,0 +1,9 @@
+package com.edugate.edugateapi.event;
+
+/**
+ * Published whenever a user's stored details change (role, password, profile).
+ * Listeners that cache users react after the transaction commits.
+ * @param email The email (login name) of the user that changed
+ */
+public record UserChangedEvent(String email) {
+}
@@ -0,0 +1,10 @@
+package com.edugate.edugateapi.event;
+
+/**
+ * Published when every token issued to a user so far must stop working (role or password change).
+ * Listeners react after the transaction commits.
+ * @param userId The ID of the user
+ * @param tokenVersion The user's new token version; only tokens carrying it are accepted
+ */
+public record UserTokensRevokedEvent(Long userId, int tokenVersion) {
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.util.Set;
@@ -14,7 +15,12 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        // An instructor's own courses, newest first
+        @Index(name = "idx_courses_created_by_created", columnList = "created_by_id, created_at DESC, id DESC"),
+        // Live courses newest first (catalog reload batches, keyset pages)
+        @Index(name = "idx_courses_status_created", columnList = "status, created_at DESC, id DESC")
+})
 public class Course {
 
     @Id
@@ -47,6 +53,12 @@ public class Course {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt = Instant.now();
 
+    // Written back in batches by SubscriberCountService only; never written from the entity, so
+    // saving a stale copy of the course cannot overwrite it
+    @ColumnDefault("0")
+    @Column(name = "subscriber_count", nullable = false, insertable = false, updatable = false)
+    private int subscriberCount;
+
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserSubscription> subscriptions;
 }
\ No newline at end of file
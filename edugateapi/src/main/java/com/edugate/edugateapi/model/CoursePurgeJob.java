@@ -0,0 +1,44 @@
+package com.edugate.edugateapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Background removal of a course: its subscriptions are deleted in chunks, then the course itself.
+ * Kept after completion so progress can still be looked up.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "course_purge_jobs")
+public class CoursePurgeJob {
+
+    // One job per course; the course row is gone once the job completes
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "course_name", nullable = false)
+    private String courseName;
+
+    // Subscriptions when the removal was approved
+    @Column(name = "total_subscriptions", nullable = false)
+    private long totalSubscriptions;
+
+    @Column(name = "purged_subscriptions", nullable = false)
+    private long purgedSubscriptions;
+
+    @Builder.Default
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt = Instant.now();
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -4,5 +4,6 @@ public enum CourseStatus {
     PENDING_ADDITION,
     APPROVED,
     PENDING_REMOVAL,
-    HIDDEN
+    HIDDEN,
+    REMOVING // Removal approved; subscriptions are being purged before the row is deleted
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.edugate.edugateapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint of a course's trending score, so the leaderboard survives restarts.
+ * The score is stored as it stood at updatedAt and keeps decaying from there once restored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "course_trending_scores")
+public class CourseTrendingScore {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -46,6 +47,22 @@ public class User implements UserDetails {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt = Instant.now();
 
+    // Bumped to invalidate every token issued so far (role change, password change)
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
+    // Maintained by UserRepository update queries only; never written from the entity, so saving a
+    // stale copy of the user cannot overwrite them
+    @ColumnDefault("0")
+    @Column(name = "subscription_count", nullable = false, insertable = false, updatable = false)
+    private int subscriptionCount;
+
+    @ColumnDefault("0")
+    @Column(name = "course_count", nullable = false, insertable = false, updatable = false)
+    private int courseCount;
+
     @OneToMany(mappedBy = "user")
     private Set<UserSubscription> subscriptions;
 
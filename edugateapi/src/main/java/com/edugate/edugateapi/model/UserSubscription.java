@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 
@@ -13,8 +16,11 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "user_subscriptions")
-public class UserSubscription {
+@Table(name = "user_subscriptions", indexes = {
+        // The primary key starts with course_id; this serves a user's subscriptions, newest first
+        @Index(name = "idx_user_subscriptions_user_subscribed", columnList = "user_id, subscribed_at DESC, course_id DESC")
+})
+public class UserSubscription implements Persistable<UserSubscriptionId> {
 
     @EmbeddedId
     private UserSubscriptionId id;
@@ -32,4 +38,23 @@ public class UserSubscription {
     @Builder.Default
     @Column(name = "subscribed_at", nullable = false)
     private Instant subscribedAt = Instant.now();
+
+    // The id is assigned, not generated, so Spring Data cannot tell new rows apart by a null id.
+    // Without this flag every save() would SELECT the row first (merge) instead of a plain INSERT.
+    @Transient
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,299 @@
+package com.edugate.edugateapi.recommend;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item-item co-occurrence counts ("users who took this also took") with the best K partners of
+ * every item kept ready, so a lookup is an array copy.
+ *
+ * For every item, a row maps each other item to the number of users who have both. A row's
+ * top-K list (highest count first, newer ids first on ties) is maintained on every change:
+ * an increment moves at most one entry, and only a decrement of an entry already in the list
+ * rescans the row. Rows are primitive-keyed, so no Long is boxed per pair.
+ *
+ * Thread-safe: lookups share a read lock, updates take the write lock.
+ */
+public final class CoOccurrenceModel {
+
+    private final int topK;
+    private final LongObjectHashMap<Row> rows;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param topK Number of partners kept ready per item
+     */
+    public CoOccurrenceModel(int topK) {
+        this(topK, new LongObjectHashMap<>(16));
+    }
+
+    private CoOccurrenceModel(int topK, LongObjectHashMap<Row> rows) {
+        this.topK = Math.max(1, topK);
+        this.rows = rows;
+    }
+
+    /**
+     * Builds a model from scratch, counting the rows in parallel on the pool. Every task owns a
+     * range of items and writes only their rows, so nothing is locked or merged.
+     * @param itemsByUser The distinct items of each user
+     */
+    public static CoOccurrenceModel build(List<long[]> itemsByUser, int topK, ForkJoinPool pool) {
+        LongIntHashMap positionByItem = new LongIntHashMap(1024);
+        int itemCount = 0;
+        for (long[] items : itemsByUser) {
+            for (long item : items) {
+                if (positionByItem.get(item) == 0) {
+                    positionByItem.put(item, ++itemCount); // Positions are stored 1-based; 0 means absent
+                }
+            }
+        }
+        long[] itemByPosition = new long[itemCount];
+        positionByItem.forEach((item, position) -> itemByPosition[position - 1] = item);
+
+        Row[] built = new Row[itemCount];
+        int leafSize = Math.max(1, itemCount / (pool.getParallelism() * 4));
+        CoOccurrenceModel model = new CoOccurrenceModel(topK, new LongObjectHashMap<>(itemCount));
+        pool.invoke(new BuildRows(itemsByUser, positionByItem, built, 0, itemCount, leafSize, model.topK));
+
+        for (int position = 0; position < itemCount; position++) {
+            if (built[position] != null && built[position].counts.size() > 0) {
+                model.rows.put(itemByPosition[position], built[position]);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * The items most often held together with this one, best first.
+     */
+    public long[] related(long item, int limit) {
+        lock.readLock().lock();
+        try {
+            Row row = rows.get(item);
+            if (row == null) {
+                return new long[0];
+            }
+            long[] related = new long[Math.min(limit, row.topSize)];
+            System.arraycopy(row.top, 0, related, 0, related.length);
+            return related;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records that one user gained (delta +1) or lost (delta -1) some items. A count never goes
+     * below 0: losing a pair that was never counted changes nothing.
+     * @param unchanged The user's other items, which are kept
+     * @param changed The items gained or lost, distinct and not in unchanged
+     */
+    public void apply(long[] unchanged, long[] changed, int delta) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < changed.length; i++) {
+                for (long other : unchanged) {
+                    addPair(changed[i], other, delta);
+                }
+                for (int j = i + 1; j < changed.length; j++) {
+                    addPair(changed[i], changed[j], delta);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets an item entirely (e.g., a deleted course).
+     */
+    public void remove(long item) {
+        lock.writeLock().lock();
+        try {
+            Row removed = rows.remove(item);
+            if (removed != null) {
+                removed.counts.forEach((other, count) -> add(other, item, -count));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int itemCount() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void addPair(long a, long b, int delta) {
+        add(a, b, delta);
+        add(b, a, delta);
+    }
+
+    private void add(long item, long other, int delta) {
+        Row row = rows.get(item);
+        if (row == null) {
+            if (delta <= 0) {
+                return;
+            }
+            row = new Row(topK);
+            rows.put(item, row);
+        }
+        row.add(other, delta);
+        if (row.counts.size() == 0) {
+            rows.remove(item);
+        }
+    }
+
+    private static final class Row {
+
+        final LongIntHashMap counts = new LongIntHashMap();
+        final long[] top;
+        final int[] topCounts;
+        int topSize;
+
+        Row(int topK) {
+            top = new long[topK];
+            topCounts = new int[topK];
+        }
+
+        void add(long other, int delta) {
+            if (delta < 0) {
+                // Never below 0, and nothing to take from a pair that was never counted
+                delta = Math.max(delta, -counts.get(other));
+                if (delta == 0) {
+                    return;
+                }
+            }
+            int count = counts.add(other, delta);
+            int position = indexOf(other);
+            if (delta < 0) {
+                if (position >= 0) {
+                    recomputeTop(); // It may have fallen behind an item outside the list
+                }
+                return;
+            }
+            if (position < 0) {
+                if (topSize < top.length) {
+                    position = topSize++;
+                } else if (better(count, other, topCounts[topSize - 1], top[topSize - 1])) {
+                    position = topSize - 1;
+                } else {
+                    return;
+                }
+                top[position] = other;
+            }
+            topCounts[position] = count;
+            // Move up to its place
+            while (position > 0 && better(topCounts[position], top[position],
+                    topCounts[position - 1], top[position - 1])) {
+                swap(position, position - 1);
+                position--;
+            }
+        }
+
+        void recomputeTop() {
+            topSize = 0;
+            counts.forEach((other, count) -> {
+                if (topSize < top.length) {
+                    top[topSize] = other;
+                    topCounts[topSize] = count;
+                    topSize++;
+                } else if (better(count, other, topCounts[topSize - 1], top[topSize - 1])) {
+                    top[topSize - 1] = other;
+                    topCounts[topSize - 1] = count;
+                } else {
+                    return;
+                }
+                for (int position = topSize - 1; position > 0 && better(topCounts[position], top[position],
+                        topCounts[position - 1], top[position - 1]); position--) {
+                    swap(position, position - 1);
+                }
+            });
+        }
+
+        private int indexOf(long other) {
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == other) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void swap(int i, int j) {
+            long item = top[i];
+            top[i] = top[j];
+            top[j] = item;
+            int count = topCounts[i];
+            topCounts[i] = topCounts[j];
+            topCounts[j] = count;
+        }
+
+        private static boolean better(int count, long item, int otherCount, long otherItem) {
+            return count > otherCount || (count == otherCount && item > otherItem);
+        }
+    }
+
+    // Counts the rows of items [from, to), splitting the range while it is larger than leafSize
+    private static final class BuildRows extends RecursiveAction {
+
+        private final List<long[]> itemsByUser;
+        private final LongIntHashMap positionByItem;
+        private final Row[] built;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final int topK;
+
+        BuildRows(List<long[]> itemsByUser, LongIntHashMap positionByItem, Row[] built,
+                  int from, int to, int leafSize, int topK) {
+            this.itemsByUser = itemsByUser;
+            this.positionByItem = positionByItem;
+            this.built = built;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.topK = topK;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > leafSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BuildRows(itemsByUser, positionByItem, built, from, middle, leafSize, topK),
+                        new BuildRows(itemsByUser, positionByItem, built, middle, to, leafSize, topK));
+                return;
+            }
+            for (long[] items : itemsByUser) {
+                for (long item : items) {
+                    int position = positionByItem.get(item) - 1;
+                    if (position < from || position >= to) {
+                        continue;
+                    }
+                    Row row = built[position];
+                    if (row == null) {
+                        row = new Row(topK);
+                        built[position] = row;
+                    }
+                    for (long other : items) {
+                        if (other != item) {
+                            row.counts.add(other, 1);
+                        }
+                    }
+                }
+            }
+            for (int position = from; position < to; position++) {
+                if (built[position] != null) {
+                    built[position].recomputeTop();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.edugate.edugateapi.recommend;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongPredicate;
+
+/**
+ * Items ranked by an exponentially time-decayed count of events, kept sorted at all times so the
+ * best N are read without looking at the rest.
+ *
+ * Every event weighs 1 when it happens and half as much one half-life later. Rather than decaying
+ * every score as time passes, an event at time t is added with weight e^(λt), so stored scores
+ * only grow and the ranking never changes between events; the decayed score is that sum times
+ * e^(-λ·now). Sums are kept as logarithms (added with log-sum-exp), so they never overflow.
+ *
+ * An event updates the item's map entry and moves it in a skip list: O(log n). No locks: updates
+ * of one item are serialized by the map, and readers walk the skip list concurrently. A reader may
+ * see an item that is being updated at its old or its new place, but never misses it.
+ */
+public final class DecayingLeaderboard {
+
+    /**
+     * @param score Decayed score at the time of the read
+     */
+    public record Ranked(long item, double score) {
+    }
+
+    // Highest score first, newer (higher) ids first on ties
+    private static final Comparator<Entry> BEST_FIRST = (a, b) -> a.logScore() != b.logScore()
+            ? Double.compare(b.logScore(), a.logScore())
+            : Long.compare(b.item(), a.item());
+
+    private final double decayPerMilli;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(BEST_FIRST);
+
+    /**
+     * @param halfLife Time after which an event counts half as much
+     */
+    public DecayingLeaderboard(Duration halfLife) {
+        if (halfLife.toMillis() <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive: " + halfLife);
+        }
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+    }
+
+    /**
+     * Counts one event for the item.
+     */
+    public void increment(long item, Instant at) {
+        add(item, 1, at);
+    }
+
+    /**
+     * Adds a score as it stood at the given time (e.g., one restored from a checkpoint).
+     */
+    public void add(long item, double score, Instant at) {
+        if (!(score > 0)) {
+            return;
+        }
+        double logWeight = Math.log(score) + decayPerMilli * at.toEpochMilli();
+        entries.compute(item, (key, old) -> {
+            Entry updated = new Entry(item, old == null ? logWeight : logAddExp(old.logScore(), logWeight));
+            // Inserted before the old entry goes, so a concurrent reader always finds the item
+            ranking.add(updated);
+            if (old != null && BEST_FIRST.compare(old, updated) != 0) {
+                ranking.remove(old);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * The decayed score of the item at the given time, or 0 if it has none.
+     */
+    public double score(long item, Instant at) {
+        Entry entry = entries.get(item);
+        return entry == null ? 0 : decayed(entry, at);
+    }
+
+    /**
+     * The best items by decayed score, skipping those not accepted.
+     */
+    public List<Ranked> top(int limit, LongPredicate accept, Instant at) {
+        List<Ranked> top = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        for (Entry entry : ranking) {
+            if (top.size() == limit) {
+                break;
+            }
+            // An item being updated may be met twice; its first (newer) place wins
+            if (seen.add(entry.item()) && accept.test(entry.item())) {
+                top.add(new Ranked(entry.item(), decayed(entry, at)));
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Forgets an item.
+     * @return Whether it had a score
+     */
+    public boolean remove(long item) {
+        Entry removed = entries.remove(item);
+        if (removed == null) {
+            return false;
+        }
+        ranking.remove(removed);
+        return true;
+    }
+
+    /**
+     * Forgets every item matching the predicate.
+     * @return The items forgotten
+     */
+    public List<Long> removeIf(LongPredicate predicate) {
+        List<Long> removed = new ArrayList<>();
+        for (Long item : entries.keySet()) {
+            if (predicate.test(item) && remove(item)) {
+                removed.add(item);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Forgets the items whose decayed score has fallen below the minimum, walking up from the
+     * bottom of the ranking so only those items are visited.
+     * @return The items forgotten
+     */
+    public List<Long> removeBelow(double minScore, Instant at) {
+        List<Long> removed = new ArrayList<>();
+        Iterator<Entry> lowestFirst = ranking.descendingIterator();
+        while (lowestFirst.hasNext()) {
+            Entry entry = lowestFirst.next();
+            if (decayed(entry, at) >= minScore) {
+                break;
+            }
+            // Only if unchanged; an item that just got an event keeps its newer entry
+            if (entries.remove(entry.item(), entry)) {
+                ranking.remove(entry);
+                removed.add(entry.item());
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // --- Helper Methods ---
+
+    private double decayed(Entry entry, Instant at) {
+        return Math.exp(entry.logScore() - decayPerMilli * at.toEpochMilli());
+    }
+
+    // ln(e^a + e^b) without overflow
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    private record Entry(long item, double logScore) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.edugate.edugateapi.repository;
+
+import com.edugate.edugateapi.model.CoursePurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CoursePurgeJobRepository extends JpaRepository<CoursePurgeJob, Long> {
+
+    @Query("SELECT j.courseId FROM CoursePurgeJob j WHERE j.completedAt IS NULL ORDER BY j.startedAt")
+    List<Long> findUnfinishedCourseIds();
+
+    @Modifying
+    @Query("UPDATE CoursePurgeJob j SET j.purgedSubscriptions = j.purgedSubscriptions + :purged WHERE j.courseId = :courseId")
+    void addPurged(@Param("courseId") Long courseId, @Param("purged") long purged);
+
+    @Modifying
+    @Query("UPDATE CoursePurgeJob j SET j.completedAt = :now WHERE j.courseId = :courseId")
+    void markCompleted(@Param("courseId") Long courseId, @Param("now") Instant now);
+}
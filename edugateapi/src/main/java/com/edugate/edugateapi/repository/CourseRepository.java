@@ -2,19 +2,113 @@ package com.edugate.edugateapi.repository;
 
 import com.edugate.edugateapi.model.Course;
 import com.edugate.edugateapi.model.CourseStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    // Columns of CourseView; the creator is joined so its email comes back in the same statement
+    String VIEW_SELECT = "SELECT new com.edugate.edugateapi.repository.CourseView(c.id, c.courseName, " +
+            "c.instructor, c.category, c.videoLink, c.thumbnail, c.status, c.createdAt, u.id, u.email, c.subscriberCount) " +
+            "FROM Course c JOIN c.createdBy u ";
+
     // Find courses for the admin's "Pending Requests" dashboard
-    List<Course> findByStatusIn(List<CourseStatus> statuses);
+    @Query(VIEW_SELECT + "WHERE c.status IN :statuses")
+    List<CourseView> findByStatusIn(@Param("statuses") List<CourseStatus> statuses);
 
     // Find all *live* courses for regular users
-    List<Course> findByStatus(CourseStatus status);
-    List<Course> findByCreatedById(Long userId);
-    @Query("SELECT c FROM Course c JOIN c.subscriptions s WHERE s.user.id = :userId")
-    List<Course> findCoursesBySubscriberId(@Param("userId") Long userId);
-}
\ No newline at end of file
+    @Query(VIEW_SELECT + "WHERE c.status = :status")
+    List<CourseView> findByStatus(@Param("status") CourseStatus status);
+
+    // Keyset pagination over courses, newest first: the first page...
+    @Query(VIEW_SELECT + "WHERE c.status = :status ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseView> findPageByStatus(@Param("status") CourseStatus status, Limit limit);
+
+    // ...and every page after the (createdAt, id) position of the previous page's last row.
+    // A row comparison, so PostgreSQL seeks to the position in idx_courses_status_created
+    // instead of scanning every row before it
+    @Query(VIEW_SELECT + "WHERE c.status = :status " +
+            "AND (c.createdAt, c.id) < (:createdAt, :id) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseView> findPageByStatusAfter(@Param("status") CourseStatus status,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    // Forward-only cursor over courses for exports; rows are fetched from the database in batches.
+    // Must be consumed inside a (read-only) transaction, or PostgreSQL ignores the fetch size.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "WHERE c.status = :status ORDER BY c.id")
+    Stream<CourseView> streamByStatus(@Param("status") CourseStatus status);
+
+    // Single course view, used to refresh in-memory catalog entries
+    @Query(VIEW_SELECT + "WHERE c.id = :id")
+    Optional<CourseView> findViewById(@Param("id") Long id);
+
+    // Live course counts per category / instructor, used to reconcile the in-memory facet counters
+    @Query("SELECT c.category, COUNT(c) FROM Course c WHERE c.status = :status AND c.category IS NOT NULL GROUP BY c.category")
+    List<Object[]> countByCategory(@Param("status") CourseStatus status);
+
+    @Query("SELECT c.instructor, COUNT(c) FROM Course c WHERE c.status = :status AND c.instructor IS NOT NULL GROUP BY c.instructor")
+    List<Object[]> countByInstructor(@Param("status") CourseStatus status);
+
+    @Query(VIEW_SELECT + "WHERE u.id = :userId")
+    List<CourseView> findByCreatedById(@Param("userId") Long userId);
+
+    // Keyset pagination over an instructor's courses, newest first: the first page...
+    @Query(VIEW_SELECT + "WHERE u.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseView> findPageByCreatedById(@Param("userId") Long userId, Limit limit);
+
+    // ...and every page after the (createdAt, id) position of the previous page's last row
+    // (a row comparison, so idx_courses_created_by_created is entered at the position)
+    @Query(VIEW_SELECT + "WHERE u.id = :userId " +
+            "AND (c.createdAt, c.id) < (:createdAt, :id) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseView> findPageByCreatedByIdAfter(@Param("userId") Long userId,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(VIEW_SELECT + "JOIN c.subscriptions s WHERE s.user.id = :userId")
+    List<CourseView> findCoursesBySubscriberId(@Param("userId") Long userId);
+
+    // [id, status] of each course that exists, for checking many courses in one query
+    @Query("SELECT c.id, c.status FROM Course c WHERE c.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Applies many subscriber count deltas in one statement (ids[i] gets deltas[i]) and returns the
+    // new [id, subscriber_count] of each course that still exists
+    @Query(value = """
+            UPDATE courses c SET subscriber_count = c.subscriber_count + d.delta
+            FROM unnest(:ids, :deltas) AS d(id, delta)
+            WHERE c.id = d.id
+            RETURNING c.id, c.subscriber_count
+            """, nativeQuery = true)
+    List<Object[]> addSubscriberCounts(@Param("ids") Long[] ids, @Param("deltas") Long[] deltas);
+
+    // Recomputes subscriber_count from user_subscriptions, touching only the courses whose count drifted
+    @Modifying
+    @Query(value = """
+            UPDATE courses c SET subscriber_count = x.n
+            FROM (SELECT v.id, COALESCE(s.n, 0) AS n
+                  FROM courses v
+                  LEFT JOIN (SELECT course_id, COUNT(*) AS n FROM user_subscriptions GROUP BY course_id) s ON s.course_id = v.id) x
+            WHERE c.id = x.id AND c.subscriber_count <> x.n
+            """, nativeQuery = true)
+    int reconcileSubscriberCounts();
+}
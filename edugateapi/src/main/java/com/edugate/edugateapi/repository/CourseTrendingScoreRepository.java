@@ -0,0 +1,26 @@
+package com.edugate.edugateapi.repository;
+
+import com.edugate.edugateapi.model.CourseTrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface CourseTrendingScoreRepository extends JpaRepository<CourseTrendingScore, Long> {
+
+    // Inserts or overwrites many scores in one statement (ids[i] gets scores[i])
+    @Modifying
+    @Query(value = """
+            INSERT INTO course_trending_scores (course_id, score, updated_at)
+            SELECT d.id, d.score, :updatedAt FROM unnest(:ids, :scores) AS d(id, score)
+            ON CONFLICT (course_id) DO UPDATE SET score = EXCLUDED.score, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void saveScores(@Param("ids") Long[] ids, @Param("scores") Double[] scores, @Param("updatedAt") Instant updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM CourseTrendingScore s WHERE s.courseId IN :courseIds")
+    void deleteByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+}
@@ -0,0 +1,23 @@
+package com.edugate.edugateapi.repository;
+
+import com.edugate.edugateapi.model.CourseStatus;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of a course plus its creator's id and email: exactly the columns the
+ * course DTOs need. Built by the CourseRepository view queries (JPQL constructor expression)
+ * in one statement, without loading managed Course/User entities.
+ */
+public record CourseView(Long id,
+                         String courseName,
+                         String instructor,
+                         String category,
+                         String videoLink,
+                         String thumbnail,
+                         CourseStatus status,
+                         Instant createdAt,
+                         Long createdById,
+                         String creatorEmail,
+                         int subscriberCount) {
+}
@@ -0,0 +1,28 @@
+package com.edugate.edugateapi.repository;
+
+import com.edugate.edugateapi.model.CourseStatus;
+
+import java.time.Instant;
+
+/**
+ * A {@link CourseView} plus when the user subscribed to it, which the "my subscriptions" pages are sorted by.
+ * Built by the UserSubscriptionRepository page queries in one statement.
+ */
+public record SubscribedCourseView(Long id,
+                                   String courseName,
+                                   String instructor,
+                                   String category,
+                                   String videoLink,
+                                   String thumbnail,
+                                   CourseStatus status,
+                                   Instant createdAt,
+                                   Long createdById,
+                                   String creatorEmail,
+                                   int subscriberCount,
+                                   Instant subscribedAt) {
+
+    public CourseView toCourseView() {
+        return new CourseView(id, courseName, instructor, category, videoLink, thumbnail, status,
+                createdAt, createdById, creatorEmail, subscriberCount);
+    }
+}
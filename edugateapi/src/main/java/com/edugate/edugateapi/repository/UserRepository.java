@@ -2,9 +2,46 @@ package com.edugate.edugateapi.repository;
 
 import com.edugate.edugateapi.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     // This is the method Spring Security will use to find a user by their email
     Optional<User> findByEmail(String email);
+
+    // [userId, tokenVersion] for users whose tokens were ever invalidated (all others are at version 0)
+    @Query("SELECT u.id, u.tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<Object[]> findTokenVersions();
+
+    @Query("SELECT u.subscriptionCount FROM User u WHERE u.id = :userId")
+    Optional<Integer> findSubscriptionCount(@Param("userId") Long userId);
+
+    @Query("SELECT u.courseCount FROM User u WHERE u.id = :userId")
+    Optional<Integer> findCourseCount(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.subscriptionCount = u.subscriptionCount + :delta WHERE u.id = :userId")
+    void addSubscriptionCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.courseCount = u.courseCount + :delta WHERE u.id = :userId")
+    void addCourseCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    // Recomputes both counters from the source tables, touching only the users whose counters drifted
+    @Modifying
+    @Query(value = """
+            UPDATE users u SET subscription_count = x.subscriptions, course_count = x.courses
+            FROM (SELECT v.id,
+                         COALESCE(s.n, 0) AS subscriptions,
+                         COALESCE(c.n, 0) AS courses
+                  FROM users v
+                  LEFT JOIN (SELECT user_id, COUNT(*) AS n FROM user_subscriptions GROUP BY user_id) s ON s.user_id = v.id
+                  LEFT JOIN (SELECT created_by_id, COUNT(*) AS n FROM courses GROUP BY created_by_id) c ON c.created_by_id = v.id) x
+            WHERE u.id = x.id AND (u.subscription_count <> x.subscriptions OR u.course_count <> x.courses)
+            """, nativeQuery = true)
+    int reconcileCounts();
 }
\ No newline at end of file
@@ -2,14 +2,105 @@ package com.edugate.edugateapi.repository;
 
 import com.edugate.edugateapi.model.UserSubscription;
 import com.edugate.edugateapi.model.UserSubscriptionId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying; // <-- ADD THIS IMPORT
 import org.springframework.data.jpa.repository.Query;  // <-- ADD THIS IMPORT
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface UserSubscriptionRepository extends JpaRepository<UserSubscription, UserSubscriptionId> {
-    // We can add custom queries here later, e.g., "find by user id"
-    @Modifying // Required for DELETE or UPDATE operations
-    @Query("DELETE FROM UserSubscription us WHERE us.course.id = :courseId")
-    void deleteByCourseId(@Param("courseId") Long courseId);
+
+    // Columns of SubscribedCourseView: the course, its creator and the subscription time in one statement
+    String SUBSCRIBED_VIEW_SELECT = "SELECT new com.edugate.edugateapi.repository.SubscribedCourseView(c.id, " +
+            "c.courseName, c.instructor, c.category, c.videoLink, c.thumbnail, c.status, c.createdAt, u.id, u.email, " +
+            "c.subscriberCount, s.subscribedAt) FROM UserSubscription s JOIN s.course c JOIN c.createdBy u ";
+
+    // Keyset pagination over a user's subscriptions, most recent first: the first page...
+    @Query(SUBSCRIBED_VIEW_SELECT + "WHERE s.id.userId = :userId ORDER BY s.subscribedAt DESC, s.id.courseId DESC")
+    List<SubscribedCourseView> findPageBySubscriberId(@Param("userId") Long userId, Limit limit);
+
+    // ...and every page after the (subscribedAt, courseId) position of the previous page's last row
+    // (a row comparison, so idx_user_subscriptions_user_subscribed is entered at the position)
+    @Query(SUBSCRIBED_VIEW_SELECT + "WHERE s.id.userId = :userId " +
+            "AND (s.subscribedAt, s.id.courseId) < (:subscribedAt, :courseId) " +
+            "ORDER BY s.subscribedAt DESC, s.id.courseId DESC")
+    List<SubscribedCourseView> findPageBySubscriberIdAfter(@Param("userId") Long userId,
+                                                           @Param("subscribedAt") Instant subscribedAt,
+                                                           @Param("courseId") Long courseId,
+                                                           Limit limit);
+
+    // Subscribes in one round trip: inserts only if the course is live, and does nothing if the row exists.
+    // Returns 1 when subscribed, 0 when already subscribed or the course is not live.
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_subscriptions (user_id, course_id, subscribed_at)
+            SELECT :userId, c.id, now() FROM courses c
+            WHERE c.id = :courseId AND c.status = 'APPROVED'
+            ON CONFLICT (user_id, course_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfLive(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Same as insertIfLive for many courses in one statement; returns the course ids actually subscribed to.
+    // A row created concurrently for the same course is skipped rather than failing the whole statement.
+    @Query(value = """
+            INSERT INTO user_subscriptions (user_id, course_id, subscribed_at)
+            SELECT :userId, c.id, now() FROM courses c
+            WHERE c.id IN (:courseIds) AND c.status = 'APPROVED'
+            ON CONFLICT (user_id, course_id) DO NOTHING
+            RETURNING course_id
+            """, nativeQuery = true)
+    List<Long> insertAllIfLive(@Param("userId") Long userId, @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT us.id.courseId FROM UserSubscription us WHERE us.id.userId = :userId AND us.id.courseId IN :courseIds")
+    List<Long> findSubscribedCourseIds(@Param("userId") Long userId, @Param("courseIds") Collection<Long> courseIds);
+
+    // Deletes the user's subscriptions to the given courses and returns the course ids actually deleted,
+    // so a concurrent unsubscribe from the same course is never counted twice
+    @Query(value = """
+            DELETE FROM user_subscriptions
+            WHERE user_id = :userId AND course_id IN (:courseIds)
+            RETURNING course_id
+            """, nativeQuery = true)
+    List<Long> deleteByUserIdAndCourseIdIn(@Param("userId") Long userId, @Param("courseIds") Collection<Long> courseIds);
+
+    // Ids of the courses a user is subscribed to, ascending, leaving out courses already being removed
+    @Query("SELECT us.id.courseId FROM UserSubscription us JOIN us.course c " +
+            "WHERE us.id.userId = :userId AND c.status <> com.edugate.edugateapi.model.CourseStatus.REMOVING " +
+            "ORDER BY us.id.courseId")
+    List<Long> findCourseIdsBySubscriberId(@Param("userId") Long userId);
+
+    // Every subscription as [userId, courseId], one user after the other, for rebuilding the recommendation model.
+    // Must be consumed inside a (read-only) transaction, or PostgreSQL ignores the fetch size.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT us.id.userId, us.id.courseId FROM UserSubscription us ORDER BY us.id.userId")
+    Stream<Object[]> streamAllOrderByUserId();
+
+    long countByCourseId(Long courseId);
+
+    // Deletes at most :limit subscriptions of the course, so each statement holds few locks, and
+    // decrements the subscribers' counters in the same statement (returns the number deleted).
+    // ARRAY(...) makes the chunk a one-off subquery followed by primary key lookups; a plain IN (...)
+    // can be planned as a subquery re-run for every row of the course.
+    @Modifying
+    @Query(value = """
+            WITH deleted AS (
+                DELETE FROM user_subscriptions
+                WHERE course_id = :courseId AND user_id = ANY(ARRAY(
+                    SELECT user_id FROM user_subscriptions WHERE course_id = :courseId LIMIT :limit))
+                RETURNING user_id)
+            UPDATE users SET subscription_count = subscription_count - 1
+            WHERE id IN (SELECT user_id FROM deleted)
+            """, nativeQuery = true)
+    int deleteChunkByCourseId(@Param("courseId") Long courseId, @Param("limit") int limit);
 }
\ No newline at end of file
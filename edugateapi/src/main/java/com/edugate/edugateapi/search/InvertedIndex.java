@@ -0,0 +1,348 @@
+package com.edugate.edugateapi.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over documents with a fixed set of weighted text fields,
+ * ranked with BM25 (field weights fold into the term frequency, as in BM25F).
+ *
+ * Documents are identified by a long id and stored under a compact int ordinal so that
+ * postings and per-query score accumulators are primitive arrays. Every query term also
+ * matches indexed terms that start with it; those prefix expansions score a bit lower
+ * than an exact term. Documents that match more of the query terms rank higher.
+ *
+ * Thread-safe: queries share a read lock, updates take the write lock.
+ */
+public final class InvertedIndex {
+
+    // Standard BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Score multiplier for a term that only matched as a prefix of an indexed term
+    private static final float PREFIX_MATCH_BOOST = 0.7f;
+    // Bounds the work per query term for very short prefixes such as "a"
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // Query terms beyond this are ignored; each term owns one bit of the match mask
+    private static final int MAX_QUERY_TERMS = 16;
+
+    private final float[] fieldWeights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] idByOrdinal = new long[256];
+    private float[] lengthByOrdinal = new float[256];
+    private String[][] termsByOrdinal = new String[256][];
+    private int ordinalLimit;
+    private double totalLength;
+
+    private final ThreadLocal<Accumulator> scratch = ThreadLocal.withInitial(Accumulator::new);
+
+    /**
+     * @param fieldWeights Weight of each field, in the order field values are passed to {@link #put}
+     */
+    public InvertedIndex(float... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Adds a document, or replaces it if the id is already indexed.
+     * @param fieldValues One value per field (null allowed), in constructor order
+     */
+    public void put(long id, String... fieldValues) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0f;
+        for (int field = 0; field < fieldWeights.length && field < fieldValues.length; field++) {
+            for (String term : TextAnalyzer.tokenize(fieldValues[field])) {
+                frequencies.merge(term, fieldWeights[field], Float::sum);
+                length += fieldWeights[field];
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ordinal = allocateOrdinal(id);
+            lengthByOrdinal[ordinal] = length;
+            totalLength += length;
+
+            String[] terms = frequencies.keySet().toArray(new String[0]);
+            termsByOrdinal[ordinal] = terms;
+            for (String term : terms) {
+                postingsByTerm.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequencies.get(term));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks documents against already-analyzed query terms.
+     * @param queryTerms Terms from {@link TextAnalyzer#tokenize}
+     * @param offset Number of top hits to skip; must not be negative
+     * @param limit Maximum number of hits to return
+     */
+    public SearchHits search(List<String> queryTerms, int offset, int limit) {
+        checkOffset(offset);
+        int termCount = Math.min(queryTerms.size(), MAX_QUERY_TERMS);
+        if (termCount == 0 || limit <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        Accumulator acc = scratch.get();
+        try {
+            int docCount = ordinalById.size();
+            if (docCount == 0) {
+                return SearchHits.EMPTY;
+            }
+            float averageLength = (float) (totalLength / docCount);
+            acc.ensureCapacity(ordinalLimit);
+
+            for (int q = 0; q < termCount; q++) {
+                String queryTerm = queryTerms.get(q);
+                int bit = 1 << q;
+                NavigableMap<String, Postings> matches =
+                        postingsByTerm.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+
+                int expansions = 0;
+                for (Map.Entry<String, Postings> match : matches.entrySet()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    float boost = match.getKey().length() == queryTerm.length() ? 1f : PREFIX_MATCH_BOOST;
+                    Postings postings = match.getValue();
+                    float idf = (float) Math.log(1 + (docCount - postings.size + 0.5) / (postings.size + 0.5));
+                    for (int i = 0; i < postings.size; i++) {
+                        int ordinal = postings.ordinals[i];
+                        float tf = postings.frequencies[i];
+                        float norm = K1 * (1 - B + B * lengthByOrdinal[ordinal] / averageLength);
+                        acc.add(ordinal, boost * idf * (tf * (K1 + 1)) / (tf + norm), bit);
+                    }
+                }
+            }
+
+            return acc.topHits(idByOrdinal, termCount, offset, limit);
+        } finally {
+            acc.reset();
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void checkOffset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+    }
+
+    // --- Helper Methods (write lock held) ---
+
+    private void removeLocked(long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        for (String term : termsByOrdinal[ordinal]) {
+            Postings postings = postingsByTerm.get(term);
+            postings.remove(ordinal);
+            if (postings.size == 0) {
+                postingsByTerm.remove(term);
+            }
+        }
+        totalLength -= lengthByOrdinal[ordinal];
+        termsByOrdinal[ordinal] = null;
+        freeOrdinals.push(ordinal);
+    }
+
+    private int allocateOrdinal(long id) {
+        int ordinal;
+        if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.pop();
+        } else {
+            ordinal = ordinalLimit++;
+            if (ordinal == idByOrdinal.length) {
+                int capacity = idByOrdinal.length * 2;
+                idByOrdinal = Arrays.copyOf(idByOrdinal, capacity);
+                lengthByOrdinal = Arrays.copyOf(lengthByOrdinal, capacity);
+                termsByOrdinal = Arrays.copyOf(termsByOrdinal, capacity);
+            }
+        }
+        idByOrdinal[ordinal] = id;
+        ordinalById.put(id, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Ids of the requested page of hits, best first, plus the total number of matching documents.
+     */
+    public record SearchHits(long[] ids, int totalHits) {
+        static final SearchHits EMPTY = new SearchHits(new long[0], 0);
+    }
+
+    // Unordered posting list as parallel primitive arrays; removal swaps in the last entry
+    private static final class Postings {
+        int[] ordinals = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        void add(int ordinal, float frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Per-thread score accumulator, reused across queries so a search allocates almost nothing
+    private static final class Accumulator {
+        float[] scores = new float[0];
+        int[] masks = new int[0];
+        int[] touched = new int[64];
+        int touchedCount;
+
+        void ensureCapacity(int ordinals) {
+            if (scores.length < ordinals) {
+                scores = new float[ordinals];
+                masks = new int[ordinals];
+            }
+        }
+
+        void add(int ordinal, float score, int bit) {
+            if (masks[ordinal] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = ordinal;
+            }
+            scores[ordinal] += score;
+            masks[ordinal] |= bit;
+        }
+
+        SearchHits topHits(long[] idByOrdinal, int termCount, int offset, int limit) {
+            checkOffset(offset);
+            int total = touchedCount;
+            int wanted = (int) Math.min((long) offset + limit, total);
+            if (offset >= wanted) {
+                return new SearchHits(new long[0], total);
+            }
+
+            // Bounded min-heap of the best `wanted` hits, keyed on the coordinated score
+            int[] heapOrdinals = new int[wanted];
+            float[] heapScores = new float[wanted];
+            int heapSize = 0;
+            for (int t = 0; t < touchedCount; t++) {
+                int ordinal = touched[t];
+                float coordination = (float) Integer.bitCount(masks[ordinal]) / termCount;
+                float score = scores[ordinal] * coordination;
+                if (heapSize < wanted) {
+                    heapOrdinals[heapSize] = ordinal;
+                    heapScores[heapSize] = score;
+                    siftUp(heapOrdinals, heapScores, heapSize++);
+                } else if (score > heapScores[0]) {
+                    heapOrdinals[0] = ordinal;
+                    heapScores[0] = score;
+                    siftDown(heapOrdinals, heapScores, heapSize);
+                }
+            }
+
+            // Drain the heap from worst to best, filling the result from the back
+            long[] ranked = new long[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = idByOrdinal[heapOrdinals[0]];
+                heapOrdinals[0] = heapOrdinals[i];
+                heapScores[0] = heapScores[i];
+                siftDown(heapOrdinals, heapScores, i);
+            }
+            return new SearchHits(Arrays.copyOfRange(ranked, offset, heapSize), total);
+        }
+
+        void reset() {
+            for (int t = 0; t < touchedCount; t++) {
+                scores[touched[t]] = 0f;
+                masks[touched[t]] = 0;
+            }
+            touchedCount = 0;
+        }
+
+        private static void siftUp(int[] ordinals, float[] scores, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(ordinals, scores, parent, index);
+                index = parent;
+            }
+        }
+
+        private static void siftDown(int[] ordinals, float[] scores, int size) {
+            int index = 0;
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(ordinals, scores, smallest, index);
+                index = smallest;
+            }
+        }
+
+        private static void swap(int[] ordinals, float[] scores, int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.edugate.edugateapi.search;
+
+import java.text.Normalizer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable prefix trie for search-as-you-type, with the best suggestions precomputed per node.
+ *
+ * Keys are analyzed like {@link TextAnalyzer} (lower-cased, accents stripped, words joined by a
+ * single space) and inserted once per word start, so "boo" finds "Spring Boot". After building,
+ * the trie is flattened into primitive arrays:
+ * <ul>
+ *     <li>nodes are numbered breadth-first so the children of a node are contiguous and sorted
+ *         by label, and a child is found by binary search;</li>
+ *     <li>every node keeps the ids of its top-K values (highest weight first) in one shared
+ *         int array.</li>
+ * </ul>
+ * A lookup walks the prefix one char at a time without building a string and returns a view
+ * over the precomputed ids. The only allocation is that small view, plus Unicode normalization
+ * for a non-ASCII char.
+ *
+ * Instances never change; build a new one (see {@link Builder}) when the source data changes.
+ */
+public final class SuggestionTrie<T> {
+
+    private static final int ROOT = 0;
+    // Returned by fold() for chars that analysis drops entirely (combining marks)
+    private static final char SKIP = '\uFFFF';
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topOffsets;
+    private final int[] topIds;
+    private final List<T> values;
+
+    private SuggestionTrie(char[] labels, int[] firstChild, int[] childCount,
+                           int[] topOffsets, int[] topIds, List<T> values) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topOffsets = topOffsets;
+        this.topIds = topIds;
+        this.values = values;
+    }
+
+    public static <T> Builder<T> builder(int maxSuggestionsPerNode) {
+        return new Builder<>(maxSuggestionsPerNode);
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * Best values whose key (or one of its words) starts with the prefix, highest weight first.
+     * @param limit Maximum number of values; at most the per-node K the trie was built with
+     */
+    public List<T> suggest(CharSequence prefix, int limit) {
+        int node = ROOT;
+        boolean started = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = fold(prefix.charAt(i));
+            if (c == SKIP) {
+                continue;
+            }
+            if (c == ' ') {
+                // Collapse runs of separators; a trailing one is ignored
+                pendingSpace = started;
+                continue;
+            }
+            if (pendingSpace) {
+                node = child(node, ' ');
+                pendingSpace = false;
+                if (node < 0) {
+                    return List.of();
+                }
+            }
+            node = child(node, c);
+            if (node < 0) {
+                return List.of();
+            }
+            started = true;
+        }
+        if (!started) {
+            return List.of();
+        }
+
+        int from = topOffsets[node];
+        int count = Math.min(topOffsets[node + 1] - from, Math.max(0, limit));
+        return new Suggestions(from, count);
+    }
+
+    // --- Helper Methods ---
+
+    // Folds one char the way TextAnalyzer does: lower case, no accents, separators become a space
+    private static char fold(char c) {
+        if (c < 128) {
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') ? c : ' ';
+        }
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK) {
+            return SKIP;
+        }
+        if (!Character.isLetterOrDigit(c)) {
+            return ' ';
+        }
+        char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+        return Character.toLowerCase(base);
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < label) {
+                low = mid + 1;
+            } else if (labels[mid] > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // Read-only view over one node's precomputed top ids
+    private final class Suggestions extends AbstractList<T> {
+        private final int from;
+        private final int size;
+
+        Suggestions(int from, int size) {
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return values.get(topIds[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Collects weighted values, then builds the flattened trie in one pass.
+     */
+    public static final class Builder<T> {
+
+        private final int maxSuggestionsPerNode;
+        private final List<Entry<T>> entries = new ArrayList<>();
+
+        private Builder(int maxSuggestionsPerNode) {
+            this.maxSuggestionsPerNode = maxSuggestionsPerNode;
+        }
+
+        /**
+         * @param key Text to match prefixes against (e.g., a course name)
+         * @param value What a matching lookup returns
+         * @param weight Higher weights rank first; ties are broken by key
+         */
+        public Builder<T> add(String key, T value, long weight) {
+            String analyzed = String.join(" ", TextAnalyzer.tokenize(key));
+            if (!analyzed.isEmpty()) {
+                entries.add(new Entry<>(analyzed, value, weight));
+            }
+            return this;
+        }
+
+        public SuggestionTrie<T> build() {
+            // Ids follow rank order, so a node's top-K are simply its K smallest ids
+            entries.sort(Comparator.<Entry<T>>comparingLong(Entry::weight).reversed()
+                    .thenComparing(Entry::key));
+
+            Node root = new Node('\0');
+            for (int id = 0; id < entries.size(); id++) {
+                String key = entries.get(id).key();
+                for (int start = 0; start < key.length(); start++) {
+                    if (start == 0 || key.charAt(start - 1) == ' ') {
+                        insert(root, key, start, id);
+                    }
+                }
+            }
+            return flatten(root);
+        }
+
+        // Entries arrive best first, so each node on the path keeps the first K distinct ids it sees
+        private void insert(Node root, String key, int start, int id) {
+            Node node = root;
+            for (int i = start; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+                if (node.topCount < maxSuggestionsPerNode
+                        && (node.topCount == 0 || node.top[node.topCount - 1] != id)) {
+                    node.addTop(id);
+                }
+            }
+        }
+
+        private SuggestionTrie<T> flatten(Node root) {
+            List<Node> order = new ArrayList<>();
+            order.add(root);
+            int topTotal = 0;
+            for (int i = 0; i < order.size(); i++) {
+                Node node = order.get(i);
+                node.index = i;
+                topTotal += node.topCount;
+                for (int c = 0; c < node.childCount; c++) {
+                    order.add(node.children[c]);
+                }
+            }
+
+            int nodeCount = order.size();
+            char[] labels = new char[nodeCount];
+            int[] firstChild = new int[nodeCount];
+            int[] childCount = new int[nodeCount];
+            int[] topOffsets = new int[nodeCount + 1];
+            int[] topIds = new int[topTotal];
+            int offset = 0;
+            for (int i = 0; i < nodeCount; i++) {
+                Node node = order.get(i);
+                labels[i] = node.label;
+                childCount[i] = node.childCount;
+                firstChild[i] = node.childCount == 0 ? 0 : node.children[0].index;
+                topOffsets[i] = offset;
+                System.arraycopy(node.top, 0, topIds, offset, node.topCount);
+                offset += node.topCount;
+            }
+            topOffsets[nodeCount] = offset;
+
+            List<T> values = new ArrayList<>(entries.size());
+            for (Entry<T> entry : entries) {
+                values.add(entry.value());
+            }
+            return new SuggestionTrie<>(labels, firstChild, childCount, topOffsets, topIds,
+                    List.copyOf(values));
+        }
+
+        private record Entry<T>(String key, T value, long weight) {
+        }
+
+        // Build-time node with children kept sorted by label; discarded after flattening
+        private static final class Node {
+            private static final Node[] NO_CHILDREN = new Node[0];
+
+            final char label;
+            Node[] children = NO_CHILDREN;
+            int childCount;
+            int[] top = new int[2];
+            int topCount;
+            int index;
+
+            Node(char label) {
+                this.label = label;
+            }
+
+            // Fan-out is small (letters, digits, space), so a linear scan beats a map
+            Node child(char childLabel) {
+                int position = 0;
+                while (position < childCount && children[position].label < childLabel) {
+                    position++;
+                }
+                if (position < childCount && children[position].label == childLabel) {
+                    return children[position];
+                }
+                if (childCount == children.length) {
+                    children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+                }
+                System.arraycopy(children, position, children, position + 1, childCount - position);
+                Node created = new Node(childLabel);
+                children[position] = created;
+                childCount++;
+                return created;
+            }
+
+            void addTop(int id) {
+                if (topCount == top.length) {
+                    top = Arrays.copyOf(top, topCount * 2);
+                }
+                top[topCount++] = id;
+            }
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.edugate.edugateapi.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant lookup over short strings (names) using trigram similarity.
+ *
+ * Each indexed value is broken into the trigrams of its words, padded the same way as
+ * PostgreSQL's pg_trgm ("  spring " gives "  s", " sp", "spr", ..., "ng "). A trigram maps to
+ * a posting list of value ordinals held in a primitive int array. A query counts, per value,
+ * how many of its own trigrams the value shares and ranks values by
+ * <ul>
+ *     <li>word similarity: shared / query trigrams (how much of the query the value covers), then</li>
+ *     <li>similarity: shared / union of both trigram sets (prefers values close in length).</li>
+ * </ul>
+ * Trigrams miss typos in very short words ("jnae" shares a single trigram with "jane"), so every
+ * value sharing at least one trigram is also scored by bounded edit distance between query words
+ * and its words; a value keeps the better of the two scores.
+ * A document (e.g., a course) may index several values; it scores as its best value.
+ * Scores live in a per-thread array indexed by ordinal and the best documents are picked with a
+ * heap bounded by the limit, so a lookup maps only the winning ordinals to ids.
+ *
+ * Thread-safe: lookups share a read lock, updates take the write lock.
+ */
+public final class TrigramIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+    private final Map<Long, int[]> ordinalsById = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] idByOrdinal = new long[256];
+    private long[][] trigramsByOrdinal = new long[256][];
+    private String[][] wordsByOrdinal = new String[256][];
+    // All ordinals of the value's document (the same array for each of them)
+    private int[][] documentOrdinalsByOrdinal = new int[256][];
+    private int ordinalLimit;
+
+    private final ThreadLocal<Accumulator> scratch = ThreadLocal.withInitial(Accumulator::new);
+
+    /**
+     * Adds a document's values, replacing any values previously indexed under the id.
+     */
+    public void put(long id, String... values) {
+        long[][] trigramSets = new long[values.length][];
+        String[][] wordSets = new String[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            List<String> words = TextAnalyzer.tokenize(values[i]);
+            wordSets[i] = words.toArray(new String[0]);
+            trigramSets[i] = trigrams(words);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int[] ordinals = new int[values.length];
+            int used = 0;
+            for (int i = 0; i < trigramSets.length; i++) {
+                long[] trigramSet = trigramSets[i];
+                if (trigramSet.length == 0) {
+                    continue;
+                }
+                int ordinal = allocateOrdinal(id);
+                trigramsByOrdinal[ordinal] = trigramSet;
+                wordsByOrdinal[ordinal] = wordSets[i];
+                for (long trigram : trigramSet) {
+                    postingsByTrigram.computeIfAbsent(trigram, key -> new Postings()).add(ordinal);
+                }
+                ordinals[used++] = ordinal;
+            }
+            int[] documentOrdinals = Arrays.copyOf(ordinals, used);
+            for (int ordinal : documentOrdinals) {
+                documentOrdinalsByOrdinal[ordinal] = documentOrdinals;
+            }
+            ordinalsById.put(id, documentOrdinals);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents whose best value is most similar to the query.
+     * @param minWordSimilarity Minimum score in (0, 1]: the fraction of the query's trigrams a value
+     *                          shares, or the edit-distance similarity of the query words
+     * @param limit Maximum number of ids to return
+     * @return Matching document ids, best first
+     */
+    public long[] search(String query, float minWordSimilarity, int limit) {
+        String[] queryWords = TextAnalyzer.tokenize(query).toArray(new String[0]);
+        long[] queryTrigrams = trigrams(List.of(queryWords));
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        Accumulator acc = scratch.get();
+        try {
+            acc.ensureCapacity(ordinalLimit);
+            for (long trigram : queryTrigrams) {
+                Postings postings = postingsByTrigram.get(trigram);
+                if (postings != null) {
+                    for (int i = 0; i < postings.size; i++) {
+                        acc.increment(postings.ordinals[i]);
+                    }
+                }
+            }
+
+            for (int t = 0; t < acc.touchedCount; t++) {
+                int ordinal = acc.touched[t];
+                int shared = acc.counts[ordinal];
+                float wordSimilarity = (float) shared / queryTrigrams.length;
+                if (wordSimilarity < 1f) {
+                    wordSimilarity = Math.max(wordSimilarity, editSimilarity(queryWords, wordsByOrdinal[ordinal]));
+                }
+                if (wordSimilarity < minWordSimilarity) {
+                    continue;
+                }
+                float similarity = (float) shared
+                        / (queryTrigrams.length + trigramsByOrdinal[ordinal].length - shared);
+                // Word similarity decides; similarity only breaks ties
+                acc.scores[ordinal] = wordSimilarity + similarity / 1000f;
+            }
+
+            // A document competes once, through its best value
+            for (int t = 0; t < acc.touchedCount; t++) {
+                int ordinal = acc.touched[t];
+                if (acc.scores[ordinal] > 0f && isBestOfDocument(acc.scores, ordinal)) {
+                    acc.offer(ordinal, limit, idByOrdinal);
+                }
+            }
+            return acc.drainBestFirst(idByOrdinal);
+        } finally {
+            acc.reset();
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct trigrams of every word, each packed into a long (three 16-bit chars).
+     */
+    static long[] trigrams(List<String> words) {
+        long[] result = new long[8];
+        int size = 0;
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                long trigram = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = trigram;
+            }
+        }
+        long[] distinct = Arrays.copyOf(result, size);
+        Arrays.sort(distinct);
+        int unique = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[unique++] = distinct[i];
+            }
+        }
+        return Arrays.copyOf(distinct, unique);
+    }
+
+    /**
+     * Average over the query words of how close each one is to its nearest value word:
+     * 1 for an exact match, down to 1 / (bound + 1) at the edit bound, 0 beyond it.
+     * The bound is 1 edit for words of up to 5 characters and 2 for longer words.
+     */
+    static float editSimilarity(String[] queryWords, String[] valueWords) {
+        float total = 0f;
+        for (String queryWord : queryWords) {
+            int bound = queryWord.length() <= 5 ? 1 : 2;
+            int best = bound + 1;
+            for (String valueWord : valueWords) {
+                best = Math.min(best, boundedEditDistance(queryWord, valueWord, bound));
+                if (best == 0) {
+                    break;
+                }
+            }
+            total += (float) (bound + 1 - best) / (bound + 1);
+        }
+        return queryWords.length == 0 ? 0f : total / queryWords.length;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), or
+     * bound + 1 as soon as the distance is known to exceed the bound.
+     */
+    static int boundedEditDistance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], bound + 1);
+    }
+
+    // --- Helper Methods (read lock held) ---
+
+    // Whether no other value of the document scores higher (on equal scores, the lowest ordinal wins)
+    private boolean isBestOfDocument(float[] scores, int ordinal) {
+        for (int other : documentOrdinalsByOrdinal[ordinal]) {
+            if (other != ordinal && (scores[other] > scores[ordinal]
+                    || (scores[other] == scores[ordinal] && other < ordinal))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --- Helper Methods (write lock held) ---
+
+    private void removeLocked(long id) {
+        int[] ordinals = ordinalsById.remove(id);
+        if (ordinals == null) {
+            return;
+        }
+        for (int ordinal : ordinals) {
+            for (long trigram : trigramsByOrdinal[ordinal]) {
+                Postings postings = postingsByTrigram.get(trigram);
+                postings.remove(ordinal);
+                if (postings.size == 0) {
+                    postingsByTrigram.remove(trigram);
+                }
+            }
+            trigramsByOrdinal[ordinal] = null;
+            wordsByOrdinal[ordinal] = null;
+            documentOrdinalsByOrdinal[ordinal] = null;
+            freeOrdinals.push(ordinal);
+        }
+    }
+
+    private int allocateOrdinal(long id) {
+        int ordinal;
+        if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.pop();
+        } else {
+            ordinal = ordinalLimit++;
+            if (ordinal == idByOrdinal.length) {
+                int capacity = ordinal * 2;
+                idByOrdinal = Arrays.copyOf(idByOrdinal, capacity);
+                trigramsByOrdinal = Arrays.copyOf(trigramsByOrdinal, capacity);
+                wordsByOrdinal = Arrays.copyOf(wordsByOrdinal, capacity);
+                documentOrdinalsByOrdinal = Arrays.copyOf(documentOrdinalsByOrdinal, capacity);
+            }
+        }
+        idByOrdinal[ordinal] = id;
+        return ordinal;
+    }
+
+    // Unordered posting list in a primitive array; removal swaps in the last entry
+    private static final class Postings {
+        int[] ordinals = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    ordinals[i] = ordinals[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Per-thread shared-trigram counters, scores and top-N heap, reused across lookups
+    private static final class Accumulator {
+        int[] counts = new int[0];
+        float[] scores = new float[0];
+        int[] touched = new int[64];
+        int touchedCount;
+        // Min-heap of ordinals: the worst of the best found so far is on top
+        int[] heap = new int[16];
+        int heapSize;
+
+        void ensureCapacity(int ordinals) {
+            if (counts.length < ordinals) {
+                counts = new int[ordinals];
+                scores = new float[ordinals];
+            }
+        }
+
+        void increment(int ordinal) {
+            if (counts[ordinal]++ == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = ordinal;
+            }
+        }
+
+        /**
+         * Keeps the ordinal if it is among the best {@code limit} offered so far.
+         */
+        void offer(int ordinal, int limit, long[] idByOrdinal) {
+            if (heapSize < limit) {
+                if (heapSize == heap.length) {
+                    heap = Arrays.copyOf(heap, heapSize * 2);
+                }
+                heap[heapSize] = ordinal;
+                siftUp(heapSize++, idByOrdinal);
+            } else if (ranksBelow(heap[0], ordinal, idByOrdinal)) {
+                heap[0] = ordinal;
+                siftDown(0, idByOrdinal);
+            }
+        }
+
+        /**
+         * Empties the heap into the ids of its ordinals, best first.
+         */
+        long[] drainBestFirst(long[] idByOrdinal) {
+            long[] ids = new long[heapSize];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = idByOrdinal[heap[0]];
+                heap[0] = heap[--heapSize];
+                siftDown(0, idByOrdinal);
+            }
+            return ids;
+        }
+
+        void reset() {
+            for (int t = 0; t < touchedCount; t++) {
+                counts[touched[t]] = 0;
+                scores[touched[t]] = 0f;
+            }
+            touchedCount = 0;
+            heapSize = 0;
+        }
+
+        // Lower score first, lower (older) id first on ties
+        private boolean ranksBelow(int a, int b, long[] idByOrdinal) {
+            return scores[a] != scores[b] ? scores[a] < scores[b] : idByOrdinal[a] < idByOrdinal[b];
+        }
+
+        private void siftUp(int index, long[] idByOrdinal) {
+            int ordinal = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksBelow(ordinal, heap[parent], idByOrdinal)) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = ordinal;
+        }
+
+        private void siftDown(int index, long[] idByOrdinal) {
+            int ordinal = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && ranksBelow(heap[child + 1], heap[child], idByOrdinal)) {
+                    child++;
+                }
+                if (!ranksBelow(heap[child], ordinal, idByOrdinal)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = ordinal;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.edugate.edugateapi.service;
 
 import com.edugate.edugateapi.dto.AdminLogDto;
+import com.edugate.edugateapi.dto.CoursePurgeDto;
 import com.edugate.edugateapi.dto.PendingCourseDto;
 import com.edugate.edugateapi.dto.UserDto;
 import com.edugate.edugateapi.exception.ResourceNotFoundException; // <-- CHANGED
@@ -11,12 +12,15 @@ import com.edugate.edugateapi.model.User;
 import com.edugate.edugateapi.repository.AdminLogRepository;
 import com.edugate.edugateapi.repository.CourseRepository;
 import com.edugate.edugateapi.repository.UserRepository;
-import com.edugate.edugateapi.repository.UserSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.edugate.edugateapi.dto.course.CourseResponse; // Ensure this is imported
 import com.edugate.edugateapi.exception.BadRequestException;
+import com.edugate.edugateapi.event.CourseChangedEvent;
+import com.edugate.edugateapi.event.CourseRemovedEvent;
+import com.edugate.edugateapi.event.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 // import org.springframework.security.core.userdetails.UsernameNotFoundException; // <-- REMOVED
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,7 +36,10 @@ public class AdminService {
     private final CourseRepository courseRepository;
     private final AdminLogRepository adminLogRepository;
     private final AdminLogService adminLogService;
-    private final UserSubscriptionRepository subscriptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenVersionService tokenVersionService;
+    private final RefreshTokenService refreshTokenService;
+    private final CoursePurgeService coursePurgeService;
 
     // --- User Management ---
 
@@ -47,7 +54,9 @@ public class AdminService {
         User userToPromote = findUserById(userId);
         if (userToPromote.getRole().equals(Role.ROLE_USER)) {
             userToPromote.setRole(Role.ROLE_INSTRUCTOR);
+            tokenVersionService.revokeTokens(userToPromote); // Old tokens still carry the old role
             userRepository.save(userToPromote);
+            eventPublisher.publishEvent(new UserChangedEvent(userToPromote.getEmail()));
 
             // Log the action
             adminLogService.logAction(admin, "PROMOTED_USER", userId, "USER",
@@ -61,7 +70,9 @@ public class AdminService {
         User userToDemote = findUserById(userId);
         if (userToDemote.getRole().equals(Role.ROLE_INSTRUCTOR)) {
             userToDemote.setRole(Role.ROLE_USER);
+            tokenVersionService.revokeTokens(userToDemote); // Old tokens still carry the old role
             userRepository.save(userToDemote);
+            eventPublisher.publishEvent(new UserChangedEvent(userToDemote.getEmail()));
 
             // Log the action
             adminLogService.logAction(admin, "DEMOTED_USER", userId, "USER",
@@ -70,8 +81,25 @@ public class AdminService {
         return UserDto.fromEntity(userToDemote);
     }
 
+    /**
+     * Signs the user out everywhere: every access token issued so far stops working, and so does every refresh token.
+     */
+    @Transactional
+    public UserDto revokeUserTokens(Long userId, User admin) {
+        User user = findUserById(userId);
+        tokenVersionService.revokeTokens(user);
+        userRepository.save(user);
+        refreshTokenService.revokeAll(userId);
+
+        // Log the action
+        adminLogService.logAction(admin, "REVOKED_TOKENS", userId, "USER",
+                "Revoked all tokens of user " + user.getEmail());
+        return UserDto.fromEntity(user);
+    }
+
     // --- Course Approval ---
 
+    @Transactional(readOnly = true)
     public List<PendingCourseDto> getPendingCourses() {
         List<CourseStatus> pendingStatuses = List.of(
                 CourseStatus.PENDING_ADDITION, 
@@ -79,14 +107,16 @@ public class AdminService {
         );
         String baseUrl = getBaseUrl();
         return courseRepository.findByStatusIn(pendingStatuses).stream()
-                .map(course -> PendingCourseDto.fromEntity(course, baseUrl))
+                .map(view -> PendingCourseDto.fromView(view, baseUrl))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public PendingCourseDto getPendingCourseById(Long courseId) {
-        Course course = findCourseById(courseId);
         String baseUrl = getBaseUrl();
-        return PendingCourseDto.fromEntity(course, baseUrl);
+        return courseRepository.findViewById(courseId)
+                .map(view -> PendingCourseDto.fromView(view, baseUrl))
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
     }
     
     @Transactional
@@ -105,14 +135,15 @@ public class AdminService {
             // We log *before* deleting so we have a record
             adminLogService.logAction(admin, "APPROVED_REMOVAL", courseId, "COURSE", details);
 
-            // --- THIS IS THE FIX ---
-            // 1. Manually delete all subscriptions referencing this course
-            subscriptionRepository.deleteByCourseId(courseId);
-            
-            // 2. Now we can safely delete the course
-            courseRepository.delete(course);
-            // ---------------------
+            // Hide the course now; its subscriptions and then the course row are deleted in the background
+            coursePurgeService.schedulePurge(course);
+            eventPublisher.publishEvent(new CourseRemovedEvent(courseId));
         }
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    public CoursePurgeDto getCoursePurgeProgress(Long courseId) {
+        return coursePurgeService.getProgress(courseId);
     }
 
     @Transactional
@@ -125,12 +156,14 @@ public class AdminService {
             // Log before deleting
             adminLogService.logAction(admin, "REJECTED_ADDITION", courseId, "COURSE", details);
             courseRepository.delete(course);
+            userRepository.addCourseCount(course.getCreatedBy().getId(), -1);
         } else if (course.getStatus().equals(CourseStatus.PENDING_REMOVAL)) {
             course.setStatus(CourseStatus.APPROVED);
             details = "Rejected removal request for course: " + course.getCourseName();
             adminLogService.logAction(admin, "REJECTED_REMOVAL", courseId, "COURSE", details);
             courseRepository.save(course);
         }
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
     }
 
     // --- Admin Log ---
@@ -159,11 +192,13 @@ public class AdminService {
         return System.getProperty("app.base-url", "http://localhost:8080");
     }
 
+    @Transactional(readOnly = true)
     public List<CourseResponse> getAllManagedCourses() {
         // We want to see both Approved (Live) and Hidden courses
         List<CourseStatus> statuses = List.of(CourseStatus.APPROVED, CourseStatus.HIDDEN);
+        String baseUrl = getBaseUrl();
         return courseRepository.findByStatusIn(statuses).stream()
-                .map(course -> CourseResponse.fromEntity(course, getBaseUrl()))
+                .map(view -> CourseResponse.fromView(view, baseUrl))
                 .collect(Collectors.toList());
     }
 
@@ -184,6 +219,7 @@ public class AdminService {
         }
         
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return CourseResponse.fromEntity(savedCourse, getBaseUrl());
     }
 }
\ No newline at end of file
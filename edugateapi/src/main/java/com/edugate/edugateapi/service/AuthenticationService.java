@@ -2,10 +2,14 @@ package com.edugate.edugateapi.service;
 
 import com.edugate.edugateapi.dto.auth.AuthenticationRequest;
 import com.edugate.edugateapi.dto.auth.AuthenticationResponse;
+import com.edugate.edugateapi.dto.auth.LogoutRequest;
+import com.edugate.edugateapi.dto.auth.RefreshTokenRequest;
 import com.edugate.edugateapi.dto.auth.RegisterRequest;
+import com.edugate.edugateapi.exception.UnauthorizedException;
 import com.edugate.edugateapi.model.Role;
 import com.edugate.edugateapi.model.User;
 import com.edugate.edugateapi.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +26,8 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Registers a new user.
@@ -46,17 +52,8 @@ public class AuthenticationService {
         // Save the user to the database
         var savedUser = userRepository.save(user);
 
-        // Generate a JWT for the new user
-        var jwtToken = jwtService.generateToken(savedUser);
-
-        // Return the token and user info
-        return AuthenticationResponse.builder()
-                .token(jwtToken)
-                .id(savedUser.getId())
-                .email(savedUser.getEmail())
-                .fullName(savedUser.getFullName())
-                .role(savedUser.getRole())
-                .build();
+        // Generate a JWT and a refresh token for the new user
+        return buildResponse(savedUser, refreshTokenService.issue(savedUser));
     }
 
     /**
@@ -76,12 +73,43 @@ public class AuthenticationService {
         var user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found after authentication"));
 
-        // Generate a JWT
-        var jwtToken = jwtService.generateToken(user);
+        // Generate a JWT and start a new refresh token family
+        return buildResponse(user, refreshTokenService.issue(user));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * No password check, so no BCrypt work.
+     */
+    public AuthenticationResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return buildResponse(rotation.user(), rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the presented access token until it expires, and the refresh token family if one is given.
+     * @throws UnauthorizedException If the access token is missing, invalid or expired
+     */
+    public void logout(String accessToken, LogoutRequest request) {
+        Claims claims = accessToken == null ? null : jwtService.verifyToken(accessToken);
+        if (claims == null) {
+            throw new UnauthorizedException("Invalid or expired access token");
+        }
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        tokenRevocationService.revoke(claims.getId(), userId, claims.getExpiration().toInstant());
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokenService.revokeFamily(request.getRefreshToken(), userId);
+        }
+    }
+
+    // --- Helper Methods ---
 
-        // Return the token and user info
+    private AuthenticationResponse buildResponse(User user, String refreshToken) {
+        // Return the tokens and user info
         return AuthenticationResponse.builder()
-                .token(jwtToken)
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshToken)
+                .expiresIn(jwtService.getAccessTokenTtlSeconds())
                 .id(user.getId())
                 .email(user.getEmail())
                 .fullName(user.getFullName())
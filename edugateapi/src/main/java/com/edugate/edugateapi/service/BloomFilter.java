@@ -0,0 +1,77 @@
+package com.edugate.edugateapi.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings: "definitely not present" or "maybe present".
+ *
+ * Blocked layout: all k bits of a value fall into the same 64-bit word, so a lookup is a single
+ * memory read and a mask compare instead of k scattered reads. That costs some accuracy, which
+ * is made up by sizing the filter about 1.5x larger than a classic one.
+ * Bits live in an AtomicLongArray, so adds and lookups may run concurrently without locks.
+ * Hashes are derived from String.hashCode(), which the string caches, so repeat lookups of the
+ * same string do not rescan its characters.
+ * Entries cannot be removed; build a new filter to drop them.
+ */
+final class BloomFilter {
+
+    private static final double BLOCKED_OVERSIZE = 1.5;
+
+    private final AtomicLongArray words;
+    private final int hashCount;
+    private final int capacity;
+
+    /**
+     * @param capacity Expected number of entries
+     * @param falsePositiveRate Target false positive rate at that many entries, e.g. 0.01
+     */
+    BloomFilter(int capacity, double falsePositiveRate) {
+        int n = Math.max(1, capacity);
+        double bitsPerEntry = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long m = (long) Math.ceil(n * bitsPerEntry * BLOCKED_OVERSIZE);
+        this.words = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+        this.hashCount = Math.min(10, Math.max(1, (int) Math.round(bitsPerEntry * Math.log(2))));
+        this.capacity = n;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void add(String value) {
+        long hash = mix(value.hashCode());
+        long mask = mask(hash);
+        words.getAndAccumulate(wordIndex(hash), mask, (current, bits) -> current | bits);
+    }
+
+    boolean mightContain(String value) {
+        long hash = mix(value.hashCode());
+        long mask = mask(hash);
+        return (words.get(wordIndex(hash)) & mask) == mask;
+    }
+
+    // --- Helper Methods ---
+
+    // High 32 bits pick the word (multiply-shift range reduction, no division)
+    private int wordIndex(long hash) {
+        return (int) (((hash >>> 32) * words.length()) >>> 32);
+    }
+
+    // k bit positions inside the word, 6 bits each, from a second mix of the hash
+    private long mask(long hash) {
+        long positions = mix(hash);
+        long mask = 0;
+        for (int i = 0; i < hashCount; i++) {
+            mask |= 1L << (positions & 63);
+            positions >>>= 6;
+        }
+        return mask;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
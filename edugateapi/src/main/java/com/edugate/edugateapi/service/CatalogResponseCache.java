@@ -0,0 +1,116 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.LiveCatalogChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogReloadedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Already-encoded JSON for the hottest catalog responses: the full live course list and each
+ * live course. Bodies are kept as UTF-8 bytes plus a raw-deflate copy, so serving one costs a
+ * memory copy instead of DTO mapping, envelope building and Jackson serialization.
+ *
+ * An entry remembers the catalog object it was encoded from. The catalog swaps in new objects
+ * whenever anything changes, so a reference check is enough to tell a stale entry.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogResponseCache {
+
+    private final LiveCourseCatalog liveCourseCatalog;
+    private final ObjectMapper objectMapper;
+
+    private volatile Cached<List<CourseResponse>> allCourses;
+    private final Map<Long, Cached<CourseResponse>> courses = new ConcurrentHashMap<>();
+
+    /**
+     * The "data" part of the all-live-courses response.
+     */
+    public EncodedJson getAllLiveCourses() {
+        List<CourseResponse> current = liveCourseCatalog.getAll();
+        Cached<List<CourseResponse>> cached = allCourses;
+        if (cached == null || cached.source() != current) {
+            cached = new Cached<>(current, encode(current));
+            allCourses = cached;
+        }
+        return cached.body();
+    }
+
+    /**
+     * The "data" part of a single live course response, or empty if the course is not live.
+     */
+    public Optional<EncodedJson> getLiveCourse(Long courseId) {
+        return liveCourseCatalog.findById(courseId).map(current -> {
+            Cached<CourseResponse> cached = courses.get(courseId);
+            if (cached == null || cached.source() != current) {
+                cached = new Cached<>(current, encode(current));
+                courses.put(courseId, cached);
+            }
+            return cached.body();
+        });
+    }
+
+    // --- Eviction (stale entries are never served; this only frees their memory) ---
+
+    @EventListener
+    public void onCatalogReloaded(LiveCatalogReloadedEvent event) {
+        allCourses = null;
+        courses.clear();
+    }
+
+    @EventListener
+    public void onCatalogChanged(LiveCatalogChangedEvent event) {
+        allCourses = null;
+        if (event.previous() != null) {
+            courses.remove(event.previous().getId());
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private EncodedJson encode(Object data) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode catalog response", e);
+        }
+
+        // Raw deflate ending in a sync flush: byte-aligned and not final, so a gzip response
+        // can be assembled around it (see EncodedJsonWriter)
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(json);
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(json.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                deflated.write(buffer, 0, written);
+            } while (written == buffer.length);
+            return new EncodedJson(json, deflated.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * A response payload as UTF-8 JSON and as a non-final raw deflate stream of the same bytes.
+     */
+    public record EncodedJson(byte[] json, byte[] deflated) {
+    }
+
+    private record Cached<T>(T source, EncodedJson body) {
+    }
+}
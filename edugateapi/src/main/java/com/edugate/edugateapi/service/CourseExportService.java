@@ -0,0 +1,143 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.exception.BadRequestException;
+import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.repository.CourseRepository;
+import com.edugate.edugateapi.repository.CourseView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams the full live catalog (NDJSON or CSV) straight from a database cursor.
+ * Each row is written as soon as it is read, so memory use does not grow with the catalog.
+ */
+@Service
+public class CourseExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileName() {
+            return "courses." + extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + value + " (use ndjson or csv).");
+            }
+        }
+    }
+
+    private static final String[] CSV_HEADER = {"id", "courseName", "instructor", "category", "videoLink",
+            "thumbnailUrl", "status", "createdById", "creatorEmail", "createdAt", "subscriberCount"};
+
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    public CourseExportService(CourseRepository courseRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
+        this.courseRepository = courseRepository;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Writes every live course to the stream in the given format. The stream is flushed, not closed.
+     * Runs in one read-only transaction so the JDBC cursor (and its fetch size) stays open throughout.
+     */
+    @Transactional(readOnly = true)
+    public void exportLiveCourses(Format format, OutputStream out) throws IOException {
+        try (Stream<CourseView> rows = courseRepository.streamByStatus(CourseStatus.APPROVED)) {
+            Iterator<CourseResponse> courses = rows
+                    .map(view -> CourseResponse.fromView(view, baseUrl))
+                    .iterator();
+            if (format == Format.CSV) {
+                writeCsv(courses, out);
+            } else {
+                writeNdjson(courses, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void writeNdjson(Iterator<CourseResponse> courses, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newline alone, not Jackson's default space
+            generator.setRootValueSeparator(null);
+            while (courses.hasNext()) {
+                objectMapper.writeValue(generator, courses.next());
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    private static void writeCsv(Iterator<CourseResponse> courses, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+        while (courses.hasNext()) {
+            CourseResponse course = courses.next();
+            writeCsvRow(writer, course.getId(), course.getCourseName(), course.getInstructor(),
+                    course.getCategory(), course.getVideoLink(), course.getThumbnailUrl(), course.getStatus(),
+                    course.getCreatedById(), course.getCreatorEmail(), course.getCreatedAt(),
+                    course.getSubscriberCount());
+        }
+        writer.flush();
+    }
+
+    // RFC 4180: quote fields containing a comma, quote or line break, doubling embedded quotes
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i] == null ? "" : values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
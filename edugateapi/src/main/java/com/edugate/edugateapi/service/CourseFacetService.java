@@ -0,0 +1,143 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.dto.course.FacetsResponse;
+import com.edugate.edugateapi.dto.course.FacetsResponse.FacetCount;
+import com.edugate.edugateapi.event.LiveCatalogChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogReloadedEvent;
+import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live course counts per category and per instructor, for the browse filters.
+ *
+ * The counters follow the live catalog: every course entering, leaving or changing in the
+ * catalog adjusts them by one, so a read never scans courses. A periodic job compares them
+ * with a GROUP BY over the courses table and reloads the catalog if they have drifted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseFacetService {
+
+    private static final Comparator<FacetCount> LARGEST_FIRST = Comparator
+            .comparingLong(FacetCount::getCount).reversed()
+            .thenComparing(FacetCount::getValue);
+
+    private final LiveCourseCatalog liveCourseCatalog;
+    private final CourseRepository courseRepository;
+
+    // Guarded by this; readers only see the immutable response built after each change
+    private final Map<String, Long> categoryCounts = new HashMap<>();
+    private final Map<String, Long> instructorCounts = new HashMap<>();
+    private long totalCourses;
+
+    private volatile FacetsResponse facets;
+
+    public FacetsResponse getFacets() {
+        FacetsResponse current = facets;
+        if (current == null) {
+            // Counters are filled by the catalog's first load; trigger it if nothing has read yet
+            liveCourseCatalog.getAll();
+            current = facets;
+        }
+        return current;
+    }
+
+    // --- Counter maintenance ---
+
+    @EventListener
+    public synchronized void onCatalogReloaded(LiveCatalogReloadedEvent event) {
+        categoryCounts.clear();
+        instructorCounts.clear();
+        totalCourses = 0;
+        for (CourseResponse course : event.courses()) {
+            adjust(course, 1);
+        }
+        publish();
+    }
+
+    @EventListener
+    public synchronized void onCatalogChanged(LiveCatalogChangedEvent event) {
+        if (event.previous() != null) {
+            adjust(event.previous(), -1);
+        }
+        if (event.current() != null) {
+            adjust(event.current(), 1);
+        }
+        publish();
+    }
+
+    /**
+     * Repairs drift between the counters and the courses table, e.g., after a change that
+     * bypassed the services or an event that was lost to an error.
+     */
+    @Scheduled(initialDelayString = "${app.facets.reconcile-interval-ms:600000}",
+            fixedDelayString = "${app.facets.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (facets == null) {
+            return;
+        }
+        Map<String, Long> categories = toMap(courseRepository.countByCategory(CourseStatus.APPROVED));
+        Map<String, Long> instructors = toMap(courseRepository.countByInstructor(CourseStatus.APPROVED));
+
+        boolean drifted;
+        synchronized (this) {
+            drifted = !categories.equals(categoryCounts) || !instructors.equals(instructorCounts);
+        }
+        if (drifted) {
+            // A change committed while the counts were read also looks like drift; reloading is harmless then
+            log.warn("Facet counts drifted from the courses table; reloading the live course catalog");
+            liveCourseCatalog.reload();
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void adjust(CourseResponse course, long delta) {
+        totalCourses += delta;
+        adjust(categoryCounts, course.getCategory(), delta);
+        adjust(instructorCounts, course.getInstructor(), delta);
+    }
+
+    private static void adjust(Map<String, Long> counts, String value, long delta) {
+        if (value != null) {
+            // Remapping to null drops values that no longer have any live course
+            counts.merge(value, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    private void publish() {
+        facets = FacetsResponse.builder()
+                .totalCourses(totalCourses)
+                .categories(sorted(categoryCounts))
+                .instructors(sorted(instructorCounts))
+                .build();
+    }
+
+    private static List<FacetCount> sorted(Map<String, Long> counts) {
+        List<FacetCount> result = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> result.add(new FacetCount(value, count)));
+        result.sort(LARGEST_FIRST);
+        return List.copyOf(result);
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,215 @@
+package com.edugate.edugateapi.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable compressed set of course ids, laid out like a Roaring bitmap.
+ *
+ * An id is split into its high 16 bits, which select a container, and its low 16 bits, which are
+ * stored in that container. A container of up to 4096 values is a sorted char[] (2 bytes per id);
+ * a fuller one is a 65536-bit long[] (8 KB whatever the count). A lookup binary-searches the few
+ * container keys and then one container, so it touches only a couple of cache lines.
+ *
+ * Updates return a new bitmap that shares every untouched container; {@link #stamp()} differs
+ * between any two bitmaps whose contents may differ. Ids must be in [0, 2^32).
+ */
+final class CourseIdBitmap {
+
+    static final CourseIdBitmap EMPTY = new CourseIdBitmap(new char[0], new Object[0], 0);
+
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private final char[] keys;          // High 16 bits of each container, ascending
+    private final Object[] containers;  // char[] or long[], parallel to keys
+    private final int cardinality;
+    private final long stamp = ThreadLocalRandom.current().nextLong();
+
+    private CourseIdBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * @param sortedIds Distinct ids in ascending order
+     */
+    static CourseIdBitmap of(long[] sortedIds) {
+        char[] keys = new char[0];
+        Object[] containers = new Object[0];
+        int count = 0;
+        int start = 0;
+        while (start < sortedIds.length) {
+            long high = checkRange(sortedIds[start]) >>> 16;
+            int end = start;
+            while (end < sortedIds.length && checkRange(sortedIds[end]) >>> 16 == high) {
+                end++;
+            }
+            char[] values = new char[end - start];
+            for (int i = start; i < end; i++) {
+                values[i - start] = (char) sortedIds[i];
+            }
+            keys = Arrays.copyOf(keys, count + 1);
+            containers = Arrays.copyOf(containers, count + 1);
+            keys[count] = (char) high;
+            containers[count] = values.length > ARRAY_LIMIT ? toBitmap(values) : values;
+            count++;
+            start = end;
+        }
+        return new CourseIdBitmap(keys, containers, sortedIds.length);
+    }
+
+    boolean contains(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) id;
+        if (containers[index] instanceof char[] values) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+        long[] words = (long[]) containers[index];
+        return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    CourseIdBitmap with(long id) {
+        if (contains(checkRange(id))) {
+            return this;
+        }
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        if (index < 0) {
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Object[] newContainers = new Object[containers.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(containers, 0, newContainers, 0, insertAt);
+            newKeys[insertAt] = (char) (id >>> 16);
+            newContainers[insertAt] = new char[]{low};
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(containers, insertAt, newContainers, insertAt + 1, containers.length - insertAt);
+            return new CourseIdBitmap(newKeys, newContainers, cardinality + 1);
+        }
+
+        Object updated;
+        if (containers[index] instanceof char[] values) {
+            if (values.length < ARRAY_LIMIT) {
+                int insertAt = -Arrays.binarySearch(values, low) - 1;
+                char[] newValues = new char[values.length + 1];
+                System.arraycopy(values, 0, newValues, 0, insertAt);
+                newValues[insertAt] = low;
+                System.arraycopy(values, insertAt, newValues, insertAt + 1, values.length - insertAt);
+                updated = newValues;
+            } else {
+                long[] words = toBitmap(values);
+                words[low >>> 6] |= 1L << low;
+                updated = words;
+            }
+        } else {
+            long[] words = ((long[]) containers[index]).clone();
+            words[low >>> 6] |= 1L << low;
+            updated = words;
+        }
+        Object[] newContainers = containers.clone();
+        newContainers[index] = updated;
+        return new CourseIdBitmap(keys, newContainers, cardinality + 1);
+    }
+
+    CourseIdBitmap without(long id) {
+        if (!contains(id)) {
+            return this;
+        }
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+
+        Object updated;
+        if (containers[index] instanceof char[] values) {
+            if (values.length == 1) {
+                char[] newKeys = new char[keys.length - 1];
+                Object[] newContainers = new Object[containers.length - 1];
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                System.arraycopy(containers, 0, newContainers, 0, index);
+                System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+                System.arraycopy(containers, index + 1, newContainers, index, containers.length - index - 1);
+                return new CourseIdBitmap(newKeys, newContainers, cardinality - 1);
+            }
+            int removeAt = Arrays.binarySearch(values, low);
+            char[] newValues = new char[values.length - 1];
+            System.arraycopy(values, 0, newValues, 0, removeAt);
+            System.arraycopy(values, removeAt + 1, newValues, removeAt, values.length - removeAt - 1);
+            updated = newValues;
+        } else {
+            long[] words = ((long[]) containers[index]).clone();
+            words[low >>> 6] &= ~(1L << low);
+            updated = bitCount(words) <= ARRAY_LIMIT ? toArray(words) : words;
+        }
+        Object[] newContainers = containers.clone();
+        newContainers[index] = updated;
+        return new CourseIdBitmap(keys, newContainers, cardinality - 1);
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Random per instance; equal stamps imply equal contents.
+     */
+    long stamp() {
+        return stamp;
+    }
+
+    /**
+     * Approximate heap footprint, for weighing cache entries.
+     */
+    int sizeInBytes() {
+        long bytes = 64 + 2L * keys.length + 4L * containers.length;
+        for (Object container : containers) {
+            bytes += 16 + (container instanceof char[] values ? 2L * values.length : 8L * BITMAP_WORDS);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    // --- Helper Methods ---
+
+    private static long checkRange(long id) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Course id out of range: " + id);
+        }
+        return id;
+    }
+
+    private static long[] toBitmap(char[] values) {
+        long[] words = new long[BITMAP_WORDS];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words) {
+        char[] values = new char[bitCount(words)];
+        int count = 0;
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                values[count++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
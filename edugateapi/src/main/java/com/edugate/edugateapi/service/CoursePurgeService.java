@@ -0,0 +1,173 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.CoursePurgeDto;
+import com.edugate.edugateapi.event.CourseChangedEvent;
+import com.edugate.edugateapi.event.CoursePurgeRequestedEvent;
+import com.edugate.edugateapi.exception.ResourceNotFoundException;
+import com.edugate.edugateapi.model.Course;
+import com.edugate.edugateapi.model.CoursePurgeJob;
+import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.repository.CoursePurgeJobRepository;
+import com.edugate.edugateapi.repository.CourseRepository;
+import com.edugate.edugateapi.repository.UserRepository;
+import com.edugate.edugateapi.repository.UserSubscriptionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Removes approved-for-removal courses in the background.
+ *
+ * Approval only flips the course to REMOVING (no longer visible) and records a purge job.
+ * A single worker thread then deletes the course's subscriptions in chunks, each in its own short
+ * transaction that also decrements the subscribers' counters, and finally deletes the course row.
+ * Progress is stored on the job after every chunk.
+ * Unfinished jobs (after a restart or a failure) are picked up again by a periodic sweep; a chunk
+ * is idempotent, so resuming simply continues with whatever rows are left.
+ */
+@Slf4j
+@Service
+public class CoursePurgeService {
+
+    private final CourseRepository courseRepository;
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final CoursePurgeJobRepository purgeJobRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pauseMs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("course-purge").daemon(true).factory());
+    // Courses queued or running on the worker, so the sweep does not submit them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public CoursePurgeService(CourseRepository courseRepository,
+                              UserSubscriptionRepository subscriptionRepository,
+                              CoursePurgeJobRepository purgeJobRepository,
+                              UserRepository userRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.course-purge.chunk-size:1000}") int chunkSize,
+                              @Value("${app.course-purge.pause-ms:0}") long pauseMs) {
+        this.courseRepository = courseRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.purgeJobRepository = purgeJobRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pauseMs = Math.max(0, pauseMs);
+    }
+
+    /**
+     * Hides the course and records its purge job. Call inside the approving transaction;
+     * the purge starts once it commits.
+     */
+    @Transactional
+    public void schedulePurge(Course course) {
+        course.setStatus(CourseStatus.REMOVING);
+        courseRepository.save(course);
+        purgeJobRepository.save(CoursePurgeJob.builder()
+                .courseId(course.getId())
+                .courseName(course.getCourseName())
+                .totalSubscriptions(subscriptionRepository.countByCourseId(course.getId()))
+                .build());
+        eventPublisher.publishEvent(new CoursePurgeRequestedEvent(course.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public CoursePurgeDto getProgress(Long courseId) {
+        return purgeJobRepository.findById(courseId)
+                .map(CoursePurgeDto::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("No removal found for course id: " + courseId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurgeRequested(CoursePurgeRequestedEvent event) {
+        submit(event.courseId());
+    }
+
+    // Runs right after startup too, which resumes jobs interrupted by a shutdown
+    @Scheduled(fixedDelayString = "${app.course-purge.resume-interval-ms:60000}")
+    public void resumeUnfinished() {
+        purgeJobRepository.findUnfinishedCourseIds().forEach(this::submit);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow(); // The running chunk finishes or rolls back; the job resumes on the next start
+    }
+
+    // --- Helper Methods ---
+
+    private void submit(Long courseId) {
+        if (inFlight.add(courseId)) {
+            worker.execute(() -> {
+                try {
+                    purge(courseId);
+                } catch (RuntimeException e) {
+                    log.error("Purge of course {} failed; it will be retried", courseId, e);
+                } finally {
+                    inFlight.remove(courseId);
+                }
+            });
+        }
+    }
+
+    private void purge(Long courseId) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                int rows = subscriptionRepository.deleteChunkByCourseId(courseId, chunkSize);
+                if (rows > 0) {
+                    purgeJobRepository.addPurged(courseId, rows);
+                }
+                return rows;
+            });
+            purged += deleted;
+            if (deleted > 0 && !pause()) {
+                return; // Shutting down
+            }
+        } while (deleted > 0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            courseRepository.findById(courseId).ifPresent(course -> {
+                courseRepository.delete(course);
+                userRepository.addCourseCount(course.getCreatedBy().getId(), -1);
+            });
+            purgeJobRepository.markCompleted(courseId, Instant.now());
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        });
+        log.info("Course {} removed after purging {} subscriptions", courseId, purged);
+    }
+
+    // Gives other transactions room between chunks; false if the thread was interrupted
+    private boolean pause() {
+        if (pauseMs == 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.LiveCatalogChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogReloadedEvent;
+import com.edugate.edugateapi.exception.BadRequestException;
+import com.edugate.edugateapi.search.InvertedIndex;
+import com.edugate.edugateapi.search.TextAnalyzer;
+import com.edugate.edugateapi.search.TrigramIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full-text search over the live catalog (course name, instructor and category), plus a
+ * typo-tolerant lookup by course or instructor name.
+ * Backed by in-process indexes that follow the live course catalog incrementally.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    public static final int DEFAULT_FUZZY_LIMIT = 10;
+    public static final int MAX_FUZZY_LIMIT = 25;
+    private static final int MIN_FUZZY_QUERY_LENGTH = 3;
+    // Share of the query's trigrams a name must contain; 0.5 tolerates about one typo per short word
+    private static final float MIN_WORD_SIMILARITY = 0.5f;
+
+    // Field weights: a hit in the course name counts most, then instructor, then category
+    private static final float NAME_WEIGHT = 3f;
+    private static final float INSTRUCTOR_WEIGHT = 2f;
+    private static final float CATEGORY_WEIGHT = 1f;
+
+    private final LiveCourseCatalog liveCourseCatalog;
+
+    // Swapped wholesale on a full reload so searches never see a half-built index
+    private volatile InvertedIndex index = newIndex();
+    private volatile TrigramIndex nameIndex = new TrigramIndex();
+
+    /**
+     * Searches live courses, best match first.
+     * @param query Free text; the last characters of every word may be left off (prefix match)
+     * @param page Zero-based page number
+     * @param size Requested page size; clamped to [1, MAX_PAGE_SIZE]
+     */
+    public Page<CourseResponse> search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters.");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        // A page past the last hit yields an empty page (with the real total), however large its number
+        long offset = (long) pageNumber * pageSize;
+        InvertedIndex.SearchHits hits = index.search(TextAnalyzer.tokenize(query),
+                (int) Math.min(offset, Integer.MAX_VALUE), pageSize);
+
+        List<CourseResponse> courses = new ArrayList<>(hits.ids().length);
+        for (long id : hits.ids()) {
+            // A course can leave the catalog between the index lookup and here; just skip it
+            liveCourseCatalog.findById(id).ifPresent(courses::add);
+        }
+        return new PageImpl<>(courses, PageRequest.of(pageNumber, pageSize), hits.totalHits());
+    }
+
+    /**
+     * Finds live courses whose name or instructor is close to the query, tolerating misspellings
+     * (e.g., "sprng bot" or "jonh smith"), most similar first.
+     * @param limit Maximum number of courses to return; clamped to [1, MAX_FUZZY_LIMIT]
+     */
+    public List<CourseResponse> fuzzyLookup(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty.");
+        }
+        String trimmed = query.strip();
+        if (trimmed.length() < MIN_FUZZY_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at least " + MIN_FUZZY_QUERY_LENGTH + " characters.");
+        }
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters.");
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_FUZZY_LIMIT));
+
+        List<CourseResponse> courses = new ArrayList<>(maxResults);
+        for (long id : nameIndex.search(trimmed, MIN_WORD_SIMILARITY, maxResults)) {
+            liveCourseCatalog.findById(id).ifPresent(courses::add);
+        }
+        return courses;
+    }
+
+    // --- Index maintenance ---
+
+    @EventListener
+    public void onCatalogReloaded(LiveCatalogReloadedEvent event) {
+        InvertedIndex rebuilt = newIndex();
+        TrigramIndex rebuiltNames = new TrigramIndex();
+        for (CourseResponse course : event.courses()) {
+            indexCourse(rebuilt, rebuiltNames, course);
+        }
+        index = rebuilt;
+        nameIndex = rebuiltNames;
+    }
+
+    @EventListener
+    public void onCatalogChanged(LiveCatalogChangedEvent event) {
+        if (event.current() != null) {
+            indexCourse(index, nameIndex, event.current());
+        } else {
+            index.remove(event.previous().getId());
+            nameIndex.remove(event.previous().getId());
+        }
+    }
+
+    private static void indexCourse(InvertedIndex target, TrigramIndex names, CourseResponse course) {
+        target.put(course.getId(), course.getCourseName(), course.getInstructor(), course.getCategory());
+        names.put(course.getId(), course.getCourseName(), course.getInstructor());
+    }
+
+    private static InvertedIndex newIndex() {
+        return new InvertedIndex(NAME_WEIGHT, INSTRUCTOR_WEIGHT, CATEGORY_WEIGHT);
+    }
+}
@@ -1,13 +1,20 @@
 package com.edugate.edugateapi.service;
 
+import com.edugate.edugateapi.dto.CursorPageResponse;
+import com.edugate.edugateapi.dto.KeysetCursor;
 import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.CourseChangedEvent;
 import com.edugate.edugateapi.exception.BadRequestException;
 import com.edugate.edugateapi.exception.ResourceNotFoundException;
 import com.edugate.edugateapi.model.Course;
 import com.edugate.edugateapi.model.CourseStatus;
 import com.edugate.edugateapi.model.User;
 import com.edugate.edugateapi.repository.CourseRepository;
+import com.edugate.edugateapi.repository.CourseView;
+import com.edugate.edugateapi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,7 +29,9 @@ import java.util.stream.Collectors;
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Helper to get the base URL (e.g., http://localhost:8080)
     private String getBaseUrl() {
@@ -52,6 +61,7 @@ public class CourseService {
         
         // 3. Save to database
         Course savedCourse = courseRepository.save(course);
+        userRepository.addCourseCount(instructor.getId(), 1);
 
         return CourseResponse.fromEntity(savedCourse, getBaseUrl());
     }
@@ -71,29 +81,72 @@ public class CourseService {
         } else if (course.getStatus().equals(CourseStatus.PENDING_ADDITION)) {
             // If it was never approved, just delete it immediately
             courseRepository.delete(course);
+            userRepository.addCourseCount(instructor.getId(), -1);
         } else {
             throw new BadRequestException("This course is already pending removal or cannot be removed.");
         }
+        // A live course pending removal is no longer visible to users
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
     }
 
     /**
-     * Gets all courses created by the currently logged-in instructor.
+     * Gets all courses created by the currently logged-in instructor, in one unpaged list.
+     * Kept for clients that explicitly opt in; prefer {@link #getMyCoursesPage}.
      */
+    @Transactional(readOnly = true)
     public List<CourseResponse> getMyCourses(User instructor) {
-        // We will add this new method to the CourseRepository
+        String baseUrl = getBaseUrl();
         return courseRepository.findByCreatedById(instructor.getId()).stream()
-                .map(course -> CourseResponse.fromEntity(course, getBaseUrl()))
+                .map(view -> CourseResponse.fromView(view, baseUrl))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets one page of the courses created by the currently logged-in instructor, newest first.
+     * One query per page (creator joined), keyset-paginated on (createdAt, id);
+     * the total comes from the instructor's maintained course counter instead of a COUNT(*).
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param size Requested page size; clamped to [1, UserService.MAX_PAGE_SIZE]
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CourseResponse> getMyCoursesPage(User instructor, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // One extra row tells whether another page follows
+        List<CourseView> rows = (after == null)
+                ? courseRepository.findPageByCreatedById(instructor.getId(), Limit.of(pageSize + 1))
+                : courseRepository.findPageByCreatedByIdAfter(instructor.getId(), after.timestamp(), after.id(),
+                        Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<CourseView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            CourseView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+
+        String baseUrl = getBaseUrl();
+        return CursorPageResponse.<CourseResponse>builder()
+                .items(page.stream()
+                        .map(view -> CourseResponse.fromView(view, baseUrl))
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .total((long) userRepository.findCourseCount(instructor.getId()).orElse(0))
+                .build();
+    }
+
     /**
      * Gets a specific course created by the currently logged-in instructor.
      * Includes courses in any status (APPROVED, HIDDEN, PENDING_REMOVAL, etc.)
      */
+    @Transactional(readOnly = true)
     public CourseResponse getMyCourse(Long courseId, User instructor) {
-        Course course = findCourseById(courseId);
-        checkOwnership(course, instructor); // Verify this instructor owns this course
-        return CourseResponse.fromEntity(course, getBaseUrl());
+        CourseView course = courseRepository.findViewById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        checkOwnership(course.createdById(), instructor); // Verify this instructor owns this course
+        return CourseResponse.fromView(course, getBaseUrl());
     }
 
     /**
@@ -128,6 +181,7 @@ public class CourseService {
 
         // Save updated course
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return CourseResponse.fromEntity(updatedCourse, getBaseUrl());
     }
 
@@ -139,7 +193,11 @@ public class CourseService {
     }
 
     private void checkOwnership(Course course, User instructor) {
-        if (!course.getCreatedBy().getId().equals(instructor.getId())) {
+        checkOwnership(course.getCreatedBy().getId(), instructor);
+    }
+
+    private void checkOwnership(Long creatorId, User instructor) {
+        if (!creatorId.equals(instructor.getId())) {
             throw new AccessDeniedException("You do not have permission to modify this course.");
         }
     }
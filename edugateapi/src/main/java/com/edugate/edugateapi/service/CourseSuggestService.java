@@ -0,0 +1,92 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.dto.course.SuggestionResponse;
+import com.edugate.edugateapi.dto.course.SuggestionResponse.SuggestionType;
+import com.edugate.edugateapi.event.LiveCatalogChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogReloadedEvent;
+import com.edugate.edugateapi.search.SuggestionTrie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search-as-you-type suggestions (course names, instructors and categories) for the live catalog.
+ *
+ * Served from an immutable {@link SuggestionTrie} with the top suggestions precomputed per prefix.
+ * The trie is rebuilt from the live catalog whenever the set of live courses changes; changes only
+ * come from admin/instructor actions, so this is rare compared to lookups.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseSuggestService {
+
+    public static final int DEFAULT_LIMIT = 8;
+    public static final int MAX_LIMIT = 10;
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final LiveCourseCatalog liveCourseCatalog;
+
+    private volatile SuggestionTrie<SuggestionResponse> trie = SuggestionTrie.<SuggestionResponse>builder(MAX_LIMIT).build();
+
+    /**
+     * Suggestions whose text, or one of its words, starts with the prefix; most common first.
+     * A blank or overly long prefix simply has no suggestions.
+     * @param limit Maximum number of suggestions; clamped to [1, MAX_LIMIT]
+     */
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.length() > MAX_PREFIX_LENGTH) {
+            return List.of();
+        }
+        return trie.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    // --- Trie maintenance ---
+
+    @EventListener
+    public void onCatalogReloaded(LiveCatalogReloadedEvent event) {
+        rebuild(event.courses());
+    }
+
+    @EventListener
+    public void onCatalogChanged(LiveCatalogChangedEvent event) {
+        rebuild(liveCourseCatalog.getAll());
+    }
+
+    private synchronized void rebuild(List<CourseResponse> courses) {
+        Map<String, Long> names = new HashMap<>();
+        Map<String, Long> instructors = new HashMap<>();
+        Map<String, Long> categories = new HashMap<>();
+        for (CourseResponse course : courses) {
+            count(names, course.getCourseName());
+            count(instructors, course.getInstructor());
+            count(categories, course.getCategory());
+        }
+
+        SuggestionTrie.Builder<SuggestionResponse> builder = SuggestionTrie.builder(MAX_LIMIT);
+        add(builder, names, SuggestionType.COURSE);
+        add(builder, instructors, SuggestionType.INSTRUCTOR);
+        add(builder, categories, SuggestionType.CATEGORY);
+        trie = builder.build();
+        log.debug("Suggestion trie rebuilt: {} courses, {} nodes", courses.size(), trie.nodeCount());
+    }
+
+    private static void count(Map<String, Long> counts, String text) {
+        if (text != null && !text.isBlank()) {
+            counts.merge(text.strip(), 1L, Long::sum);
+        }
+    }
+
+    private static void add(SuggestionTrie.Builder<SuggestionResponse> builder,
+                            Map<String, Long> counts, SuggestionType type) {
+        counts.forEach((text, courseCount) -> builder.add(text,
+                SuggestionResponse.builder().text(text).type(type).courseCount(courseCount).build(),
+                courseCount));
+    }
+}
@@ -1,36 +1,69 @@
 package com.edugate.edugateapi.service;
 
+import com.edugate.edugateapi.model.Role;
+import com.edugate.edugateapi.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class JwtService {
 
-    private final SecretKey jwtSecretKey;
-    private final long jwtExpirationMs = 86400000; // 24 hours
+    // Claims that let a request be authenticated without loading the user (see toPrincipal)
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+    private static final String ROLES_CLAIM = "roles";
 
-    public JwtService(@Value("${jwt.secret-key}") String secretKey) {
+    private final SecretKey jwtSecretKey;
+    private final long jwtExpirationMs; // Short-lived; clients renew it with a refresh token
+
+    // Parsers are immutable and thread-safe, so one is built up front and shared
+    private final JwtParser jwtParser;
+    private final VerifiedClaimsCache verifiedClaims;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwtService(@Value("${jwt.secret-key}") String secretKey,
+                      @Value("${app.jwt.claims-cache-size:10000}") int claimsCacheSize,
+                      @Value("${app.jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                      MeterRegistry meterRegistry) {
+        this.jwtExpirationMs = accessTokenTtl.toMillis();
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.jwtSecretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(jwtSecretKey)
+                .build();
+        this.verifiedClaims = new VerifiedClaimsCache(claimsCacheSize);
+        this.cacheHits = meterRegistry.counter("jwt.claims.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("jwt.claims.cache", "result", "miss");
+        Gauge.builder("jwt.claims.cache.size", verifiedClaims, VerifiedClaimsCache::size)
+                .description("Verified tokens currently cached")
+                .register(meterRegistry);
     }
 
     // --- Public Methods ---
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public long getAccessTokenTtlSeconds() {
+        return jwtExpirationMs / 1000;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -39,12 +72,17 @@ public class JwtService {
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         // Add roles to the "claims"
-        extraClaims.put("roles", userDetails.getAuthorities().stream()
+        extraClaims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
-        
+        if (userDetails instanceof User user) {
+            extraClaims.put(USER_ID_CLAIM, user.getId());
+            extraClaims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
+
         return Jwts.builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString()) // "jti", so a single token can be revoked
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
@@ -52,32 +90,73 @@ public class JwtService {
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     * Tokens verified before are served from a cache (until they expire) without re-checking the signature.
+     * @return The verified claims, or null if the token is malformed, forged or expired
+     */
+    public Claims verifyToken(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedClaimsCache.TokenKey key = VerifiedClaimsCache.TokenKey.of(token);
+        Claims claims = verifiedClaims.get(key, now);
+        if (claims != null) {
+            cacheHits.increment();
+            return claims;
+        }
+        cacheMisses.increment();
+        try {
+            claims = extractAllClaims(token); // Also rejects expired tokens
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        verifiedClaims.put(key, claims, now);
+        return claims;
     }
 
-    // --- Private Helper Methods ---
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Whether claims already returned by {@link #verifyToken} belong to this user and have not expired since.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject())
+                && claims.getExpiration() != null && claims.getExpiration().after(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Builds a lightweight principal (id, email, role) from verified claims, without a database query.
+     * Only those three fields are set; anything else must be read from the database.
+     * @return The principal, or null if the token predates the id/role claims
+     */
+    public User toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || roles == null || roles.size() != 1) {
+            return null;
+        }
+        Role role;
+        try {
+            role = Role.valueOf(String.valueOf(roles.get(0)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .role(role)
+                .build();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * The token version the token was issued with (tokens from before versioning count as version 0).
+     */
+    public int tokenVersion(Claims claims) {
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return version == null ? 0 : version;
     }
 
+    // --- Private Helper Methods ---
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     private SecretKey getSignInKey() {
@@ -0,0 +1,335 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.CursorPageResponse;
+import com.edugate.edugateapi.dto.KeysetCursor;
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.CourseChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogReloadedEvent;
+import com.edugate.edugateapi.event.SubscriberCountsFlushedEvent;
+import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.repository.CourseRepository;
+import com.edugate.edugateapi.repository.CourseView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory, copy-on-write snapshot of every *APPROVED* course, ready to serve.
+ *
+ * Readers only dereference a volatile field, so they never lock and never touch the database.
+ * Writers build a new snapshot off to the side and swap it in once the transaction that
+ * changed a course has committed (see {@link CourseChangedEvent}), then tell secondary
+ * indexes what changed ({@link LiveCatalogReloadedEvent}, {@link LiveCatalogChangedEvent}).
+ *
+ * Every snapshot has a version one higher than the last, and every course remembers the
+ * version in which it last changed; both back the ETags of the catalog endpoints. A separate
+ * content version skips snapshots that only updated subscriber counts, for responses that
+ * do not show them.
+ */
+@Slf4j
+@Service
+public class LiveCourseCatalog {
+
+    // Same order as the keyset queries in CourseRepository: newest first, id breaks ties
+    static final Comparator<CourseResponse> NEWEST_FIRST = Comparator
+            .comparing(CourseResponse::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(CourseResponse::getId, Comparator.reverseOrder());
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String baseUrl;
+
+    // Versions restart at 1 with the process, so ETags also carry when this instance started
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Snapshot snapshot;
+
+    public LiveCourseCatalog(CourseRepository courseRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+        this.baseUrl = baseUrl;
+    }
+
+    // --- Reads (lock-free) ---
+
+    /**
+     * All live courses, newest first. The returned list is immutable.
+     */
+    public List<CourseResponse> getAll() {
+        return current().ordered();
+    }
+
+    public Optional<CourseResponse> findById(Long courseId) {
+        return Optional.ofNullable(current().byId().get(courseId));
+    }
+
+    /**
+     * Live courses in one category, newest first. The returned list is immutable.
+     */
+    public List<CourseResponse> getByCategory(String category) {
+        return current().byCategory().getOrDefault(category, List.of());
+    }
+
+    /**
+     * One keyset page of live courses, optionally restricted to a category.
+     * @param category Exact category to filter on, or null for all categories
+     * @param after Position of the previous page's last item, or null for the first page
+     * @param pageSize Number of items to return (already clamped by the caller)
+     */
+    public CursorPageResponse<CourseResponse> getPage(String category, KeysetCursor after, int pageSize) {
+        List<CourseResponse> source = (category == null) ? getAll() : getByCategory(category);
+
+        int from = (after == null) ? 0 : indexAfter(source, after);
+        int to = Math.min(from + pageSize, source.size());
+        List<CourseResponse> page = source.subList(from, to);
+        boolean hasMore = to < source.size();
+
+        String nextCursor = null;
+        if (hasMore) {
+            CourseResponse last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<CourseResponse>builder()
+                .items(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Increases every time the set of live courses or any live course changes, subscriber counts included.
+     */
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Increases every time the set of live courses or any live course changes, except when
+     * only subscriber counts changed.
+     */
+    public long contentVersion() {
+        return current().contentVersion();
+    }
+
+    /**
+     * Strong ETag for anything derived from the whole live catalog (lists, pages, search).
+     */
+    public String etag() {
+        return "\"" + instanceTag + "-" + version() + "\"";
+    }
+
+    /**
+     * Strong ETag for responses derived from the live catalog that carry no subscriber counts
+     * (suggestions, facets). Unlike {@link #etag()}, subscriber count flushes leave it unchanged.
+     */
+    public String contentEtag() {
+        return "\"" + instanceTag + "-c" + contentVersion() + "\"";
+    }
+
+    /**
+     * Strong ETag for a view of the whole live catalog that also depends on something else
+     * (e.g., the caller's subscriptions): {@link #etag()} with the qualifier appended.
+     */
+    public String etag(String qualifier) {
+        return "\"" + instanceTag + "-" + version() + "-" + qualifier + "\"";
+    }
+
+    /**
+     * Strong ETag for a single live course, or empty if the course is not live.
+     * Unlike {@link #etag()}, it only changes when this course changes.
+     */
+    public Optional<String> etag(Long courseId) {
+        Long courseVersion = current().versionById().get(courseId);
+        return courseVersion == null
+                ? Optional.empty()
+                : Optional.of("\"" + instanceTag + "-" + courseId + "-" + courseVersion + "\"");
+    }
+
+    // --- Writes (serialized, copy-on-write) ---
+
+    /**
+     * Rebuilds the whole snapshot from the database.
+     * Courses are read in keyset batches so only one batch of entities is materialized at a time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void reload() {
+        List<CourseResponse> courses = new ArrayList<>();
+        List<CourseView> batch = courseRepository.findPageByStatus(CourseStatus.APPROVED, Limit.of(LOAD_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            for (CourseView course : batch) {
+                courses.add(CourseResponse.fromView(course, baseUrl));
+            }
+            if (batch.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            CourseView last = batch.get(batch.size() - 1);
+            batch = courseRepository.findPageByStatusAfter(CourseStatus.APPROVED,
+                    last.createdAt(), last.id(), Limit.of(LOAD_BATCH_SIZE));
+        }
+
+        Snapshot previous = snapshot;
+        long version = previous == null ? 1 : previous.version() + 1;
+        long contentVersion = previous == null ? 1 : previous.contentVersion() + 1;
+        Map<Long, Long> versionById = new HashMap<>(courses.size() * 2);
+        for (CourseResponse course : courses) {
+            versionById.put(course.getId(), version);
+        }
+        snapshot = Snapshot.of(version, contentVersion, courses, versionById);
+        log.info("Live course catalog loaded: {} courses", courses.size());
+        eventPublisher.publishEvent(new LiveCatalogReloadedEvent(snapshot.ordered()));
+    }
+
+    /**
+     * Re-reads a single course once the change to it is committed and swaps in a new snapshot
+     * with that course added, replaced or removed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        if (snapshot == null) {
+            // Nothing loaded yet; the first read will load the committed state
+            return;
+        }
+        Long courseId = event.courseId();
+        CourseResponse updated = courseRepository.findViewById(courseId)
+                .filter(course -> course.status() == CourseStatus.APPROVED)
+                .map(course -> CourseResponse.fromView(course, baseUrl))
+                .orElse(null);
+
+        Snapshot previous = snapshot;
+        CourseResponse before = previous.byId().get(courseId);
+        if (updated == null && before == null) {
+            return; // The course was not live before and is not live now
+        }
+
+        List<CourseResponse> courses = new ArrayList<>(previous.ordered().size() + 1);
+        for (CourseResponse course : previous.ordered()) {
+            if (!course.getId().equals(courseId)) {
+                courses.add(course);
+            }
+        }
+        long version = previous.version() + 1;
+        Map<Long, Long> versionById = new HashMap<>(previous.versionById());
+        if (updated != null) {
+            courses.add(updated);
+            versionById.put(courseId, version);
+        } else {
+            versionById.remove(courseId);
+        }
+        snapshot = Snapshot.of(version, previous.contentVersion() + 1, courses, versionById);
+        eventPublisher.publishEvent(new LiveCatalogChangedEvent(before, updated));
+    }
+
+    /**
+     * Swaps in a snapshot with the subscriber counts just written back. Only the counts change, so
+     * the text, facet and suggestion indexes are not notified and the content version is kept;
+     * the catalog and course ETags still change.
+     */
+    @EventListener
+    public synchronized void onSubscriberCountsFlushed(SubscriberCountsFlushedEvent event) {
+        Snapshot previous = snapshot;
+        if (previous == null) {
+            return; // The first read will load the committed counts
+        }
+        long version = previous.version() + 1;
+        Map<Long, Long> versionById = null;
+        List<CourseResponse> courses = new ArrayList<>(previous.ordered().size());
+        for (CourseResponse course : previous.ordered()) {
+            Integer count = event.counts().get(course.getId());
+            if (count != null && count != course.getSubscriberCount()) {
+                if (versionById == null) {
+                    versionById = new HashMap<>(previous.versionById());
+                }
+                versionById.put(course.getId(), version);
+                course = course.toBuilder().subscriberCount(count).build();
+            }
+            courses.add(course);
+        }
+        if (versionById != null) {
+            snapshot = Snapshot.of(version, previous.contentVersion(), courses, versionById);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    // Index of the first course that sorts strictly after the cursor position
+    private static int indexAfter(List<CourseResponse> source, KeysetCursor after) {
+        CourseResponse probe = CourseResponse.builder()
+                .createdAt(after.timestamp())
+                .id(after.id())
+                .build();
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (NEWEST_FIRST.compare(source.get(mid), probe) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Snapshot(long version,
+                            long contentVersion,
+                            List<CourseResponse> ordered,
+                            Map<Long, CourseResponse> byId,
+                            Map<String, List<CourseResponse>> byCategory,
+                            Map<Long, Long> versionById) {
+
+        static Snapshot of(long version, long contentVersion, List<CourseResponse> courses,
+                           Map<Long, Long> versionById) {
+            List<CourseResponse> ordered = new ArrayList<>(courses);
+            ordered.sort(NEWEST_FIRST);
+
+            Map<Long, CourseResponse> byId = new HashMap<>(ordered.size() * 2);
+            Map<String, List<CourseResponse>> byCategory = new HashMap<>();
+            for (CourseResponse course : ordered) {
+                byId.put(course.getId(), course);
+                if (course.getCategory() != null) {
+                    byCategory.computeIfAbsent(course.getCategory(), key -> new ArrayList<>()).add(course);
+                }
+            }
+            byCategory.replaceAll((category, list) -> Collections.unmodifiableList(list));
+
+            return new Snapshot(version,
+                    contentVersion,
+                    Collections.unmodifiableList(ordered),
+                    Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(byCategory),
+                    Collections.unmodifiableMap(versionById));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.event.UserChangedEvent;
+import com.edugate.edugateapi.model.User;
+import com.edugate.edugateapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores a rehashed password after a successful login, when the stored hash was made with a
+ * different BCrypt cost than the one now configured. Called by DaoAuthenticationProvider.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User userToUpdate = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        // Same password, new hash: existing tokens stay valid
+        userToUpdate.setPassword(newPassword);
+        User savedUser = userRepository.save(userToUpdate);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getEmail()));
+        return savedUser;
+    }
+}
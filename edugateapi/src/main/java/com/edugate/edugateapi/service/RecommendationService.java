@@ -0,0 +1,189 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.CourseRemovedEvent;
+import com.edugate.edugateapi.event.SubscriptionsChangedEvent;
+import com.edugate.edugateapi.recommend.CoOccurrenceModel;
+import com.edugate.edugateapi.repository.UserSubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * "Users who took this also took" recommendations, from co-subscription counts.
+ *
+ * The {@link CoOccurrenceModel} is built from the whole user_subscriptions table at startup and
+ * then periodically, counting in parallel on the common fork-join pool. In between, every
+ * committed subscribe and unsubscribe is applied to it incrementally, so a request only reads
+ * the course's precomputed top list and maps the ids through the live catalog.
+ *
+ * Changes that arrive while a rebuild is running are replayed onto the new model before it is
+ * swapped in. The rare update that commits just before a rebuild reads the table may still be
+ * counted twice, and two concurrent changes by the same user can each see the other; both only
+ * skew counts until the next rebuild.
+ */
+@Slf4j
+@Service
+public class RecommendationService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 20;
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final LiveCourseCatalog liveCourseCatalog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int topK;
+    private final int maxSubscriptionsPerUser;
+
+    private volatile CoOccurrenceModel model;
+    // Updates seen while a rebuild runs, replayed onto the new model; null when no rebuild runs (guarded by this)
+    private List<Consumer<CoOccurrenceModel>> replayLog;
+
+    public RecommendationService(UserSubscriptionRepository subscriptionRepository,
+                                 LiveCourseCatalog liveCourseCatalog,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.recommendations.top-k:40}") int topK,
+                                 @Value("${app.recommendations.max-subscriptions-per-user:500}") int maxSubscriptionsPerUser) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.liveCourseCatalog = liveCourseCatalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Keep more than a request can ask for, as some partners may no longer be live
+        this.topK = Math.max(topK, MAX_LIMIT);
+        this.maxSubscriptionsPerUser = maxSubscriptionsPerUser;
+        this.model = new CoOccurrenceModel(this.topK);
+    }
+
+    /**
+     * The live courses most often subscribed to together with the given one, most common first.
+     * @param limit Requested number of courses; clamped to [1, MAX_LIMIT]
+     */
+    public List<CourseResponse> getRelated(Long courseId, int limit) {
+        int maxResults = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<CourseResponse> related = new ArrayList<>(maxResults);
+        for (long id : model.related(courseId, topK)) {
+            liveCourseCatalog.findById(id).ifPresent(related::add);
+            if (related.size() == maxResults) {
+                break;
+            }
+        }
+        return related;
+    }
+
+    /**
+     * Rebuilds the model from the database and swaps it in.
+     */
+    @Scheduled(fixedDelayString = "${app.recommendations.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        synchronized (this) {
+            replayLog = new ArrayList<>();
+        }
+        try {
+            long started = System.nanoTime();
+            List<long[]> coursesByUser = readOnlyTransaction.execute(status -> readCoursesByUser());
+            CoOccurrenceModel built = CoOccurrenceModel.build(coursesByUser, topK, ForkJoinPool.commonPool());
+            synchronized (this) {
+                replayLog.forEach(update -> update.accept(built));
+                model = built;
+            }
+            log.info("Recommendation model rebuilt: {} users, {} courses in {} ms", coursesByUser.size(),
+                    built.itemCount(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            synchronized (this) {
+                replayLog = null;
+            }
+        }
+    }
+
+    /**
+     * Users with more than max-subscriptions-per-user courses are left out of the model altogether,
+     * as in {@link #rebuild()}: a user crossing the limit has all their pairs taken out, or put back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsChanged(SubscriptionsChangedEvent event) {
+        Set<Long> changed = new HashSet<>(event.courseIds());
+        List<Long> current = subscriptionRepository.findCourseIdsBySubscriberId(event.userId());
+        // After commit, the user's courses include the new ones and no longer include the removed ones
+        long[] unchanged = current.stream().filter(id -> !changed.contains(id)).mapToLong(Long::longValue).toArray();
+        long[] changedIds = changed.stream().mapToLong(Long::longValue).toArray();
+        int countAfter = current.size();
+        int countBefore = event.delta() > 0 ? unchanged.length : countAfter + changedIds.length;
+        boolean countedBefore = countBefore <= maxSubscriptionsPerUser;
+        boolean countedAfter = countAfter <= maxSubscriptionsPerUser;
+
+        if (countedBefore && countedAfter) {
+            update(model -> model.apply(unchanged, changedIds, event.delta()));
+        } else if (countedBefore) {
+            // Went over the limit by subscribing: take out every pair of the courses held before
+            update(model -> model.apply(new long[0], unchanged, -1));
+        } else if (countedAfter) {
+            // Back under the limit by unsubscribing: put in every pair of the courses now held
+            long[] now = current.stream().mapToLong(Long::longValue).toArray();
+            update(model -> model.apply(new long[0], now, 1));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseRemoved(CourseRemovedEvent event) {
+        update(model -> model.remove(event.courseId()));
+    }
+
+    // --- Helper Methods ---
+
+    private void update(Consumer<CoOccurrenceModel> update) {
+        CoOccurrenceModel current;
+        synchronized (this) {
+            if (replayLog != null) {
+                replayLog.add(update);
+            }
+            current = model;
+        }
+        update.accept(current);
+    }
+
+    // One array of course ids per user with at least two subscriptions
+    private List<long[]> readCoursesByUser() {
+        List<long[]> coursesByUser = new ArrayList<>();
+        try (Stream<Object[]> rows = subscriptionRepository.streamAllOrderByUserId()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            long userId = 0;
+            long[] courses = new long[16];
+            int count = 0;
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                long rowUserId = (Long) row[0];
+                if (rowUserId != userId) {
+                    addUser(coursesByUser, courses, count);
+                    userId = rowUserId;
+                    count = 0;
+                }
+                if (count == courses.length) {
+                    courses = Arrays.copyOf(courses, count * 2);
+                }
+                courses[count++] = (Long) row[1];
+            }
+            addUser(coursesByUser, courses, count);
+        }
+        return coursesByUser;
+    }
+
+    private void addUser(List<long[]> coursesByUser, long[] courses, int count) {
+        if (count >= 2 && count <= maxSubscriptionsPerUser) {
+            coursesByUser.add(Arrays.copyOf(courses, count));
+        }
+    }
+}
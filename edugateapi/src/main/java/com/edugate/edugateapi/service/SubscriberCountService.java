@@ -0,0 +1,129 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.event.SubscriberCountsFlushedEvent;
+import com.edugate.edugateapi.event.SubscriptionsChangedEvent;
+import com.edugate.edugateapi.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains courses.subscriber_count without touching the course row on every subscription.
+ *
+ * A committed subscribe or unsubscribe only adds +1/-1 to the course's LongAdder, whose striped
+ * cells keep concurrent updates to a popular course from contending on one counter (or one row
+ * lock). Every flush interval the accumulated deltas are written back with a single UPDATE and
+ * the new totals are handed to the live catalog, so the counts shown on course cards lag by at
+ * most one interval and cost nothing extra to serve.
+ *
+ * Deltas not yet written when the process dies are lost; the counts are recomputed from
+ * user_subscriptions at startup.
+ */
+@Slf4j
+@Service
+public class SubscriberCountService {
+
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Unflushed delta per course. Adders are reset rather than removed, so an increment racing
+    // with a flush is never lost; only courses that no longer exist are dropped.
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public SubscriberCountService(CourseRepository courseRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recounts every course before the live catalog is loaded (ApplicationReadyEvent comes later).
+     */
+    @PostConstruct
+    void reconcile() {
+        Integer fixed = transactionTemplate.execute(status -> courseRepository.reconcileSubscriberCounts());
+        if (fixed != null && fixed > 0) {
+            log.info("Reconciled subscriber counts of {} courses", fixed);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsChanged(SubscriptionsChangedEvent event) {
+        for (Long courseId : event.courseIds()) {
+            pending.computeIfAbsent(courseId, id -> new LongAdder()).add(event.delta());
+        }
+    }
+
+    /**
+     * Writes the accumulated deltas back in one statement and publishes the new totals.
+     */
+    @Scheduled(fixedDelayString = "${app.subscriber-counts.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Integer> counts = writeBack();
+        if (!counts.isEmpty()) {
+            eventPublisher.publishEvent(new SubscriberCountsFlushedEvent(counts));
+        }
+    }
+
+    @PreDestroy
+    synchronized void flushOnShutdown() {
+        writeBack();
+    }
+
+    // --- Helper Methods ---
+
+    private Map<Long, Integer> writeBack() {
+        List<Long> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                ids.add(entry.getKey());
+                deltas.add(delta);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object[]> rows;
+        try {
+            rows = transactionTemplate.execute(status -> courseRepository.addSubscriberCounts(
+                    ids.toArray(Long[]::new), deltas.toArray(Long[]::new)));
+        } catch (RuntimeException e) {
+            // Put the deltas back; the next flush retries them
+            for (int i = 0; i < ids.size(); i++) {
+                pending.computeIfAbsent(ids.get(i), id -> new LongAdder()).add(deltas.get(i));
+            }
+            log.warn("Could not write back subscriber counts of {} courses; will retry", ids.size(), e);
+            return Map.of();
+        }
+
+        Map<Long, Integer> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        for (Long courseId : ids) {
+            if (!counts.containsKey(courseId)) {
+                pending.remove(courseId); // The course was deleted
+            }
+        }
+        return counts;
+    }
+}
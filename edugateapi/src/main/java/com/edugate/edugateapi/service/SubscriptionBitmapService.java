@@ -0,0 +1,104 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.CourseRemovedEvent;
+import com.edugate.edugateapi.event.SubscriptionsChangedEvent;
+import com.edugate.edugateapi.repository.UserSubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers "is this user subscribed to that course?" from memory, to flag courses in listings
+ * without joining user_subscriptions on every page.
+ *
+ * Each user's subscribed course ids are held as a {@link CourseIdBitmap}, read from the database
+ * on first use (concurrent misses for the same user wait for a single query). Committed
+ * subscription changes and course removals are applied to cached bitmaps in place; a user who is
+ * not cached is simply read again next time. The cache is bounded by total bitmap size and drops
+ * users not seen for a while, so only active users are kept.
+ *
+ * Hit/miss/eviction statistics are published as the "cache.*" metrics with tag cache=subscriptionBitmaps.
+ */
+@Service
+public class SubscriptionBitmapService {
+
+    private final UserSubscriptionRepository subscriptionRepository;
+    private final Cache<Long, CourseIdBitmap> bitmaps;
+
+    public SubscriptionBitmapService(UserSubscriptionRepository subscriptionRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.subscription-bitmaps.max-bytes:67108864}") long maxBytes,
+                                     @Value("${app.subscription-bitmaps.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.bitmaps = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, CourseIdBitmap bitmap) -> bitmap.sizeInBytes())
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bitmaps, "subscriptionBitmaps");
+    }
+
+    /**
+     * Copies of the courses with the user's "isSubscribed" flag set; the originals are shared and left untouched.
+     */
+    public List<CourseResponse> decorate(Long userId, List<CourseResponse> courses) {
+        CourseIdBitmap subscribed = bitmapOf(userId);
+        List<CourseResponse> decorated = new ArrayList<>(courses.size());
+        for (CourseResponse course : courses) {
+            decorated.add(course.toBuilder().subscribed(subscribed.contains(course.getId())).build());
+        }
+        return decorated;
+    }
+
+    /**
+     * Changes whenever the user's set of subscriptions may have changed; used in ETags of per-user responses.
+     */
+    public String stamp(Long userId) {
+        return Long.toUnsignedString(bitmapOf(userId).stamp(), 36);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsChanged(SubscriptionsChangedEvent event) {
+        bitmaps.asMap().computeIfPresent(event.userId(), (userId, bitmap) -> {
+            for (Long courseId : event.courseIds()) {
+                bitmap = event.delta() > 0 ? bitmap.with(courseId) : bitmap.without(courseId);
+            }
+            return bitmap;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseRemoved(CourseRemovedEvent event) {
+        // A bitmap read while the removal was committing may still hold the course; that is harmless,
+        // as only live courses are ever looked up
+        bitmaps.asMap().replaceAll((userId, bitmap) -> bitmap.without(event.courseId()));
+    }
+
+    // --- Helper Methods ---
+
+    private CourseIdBitmap bitmapOf(Long userId) {
+        return bitmaps.get(userId, this::load);
+    }
+
+    private CourseIdBitmap load(Long userId) {
+        List<Long> courseIds = subscriptionRepository.findCourseIdsBySubscriberId(userId);
+        if (courseIds.isEmpty()) {
+            return CourseIdBitmap.EMPTY;
+        }
+        long[] sorted = new long[courseIds.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = courseIds.get(i);
+        }
+        return CourseIdBitmap.of(sorted);
+    }
+}
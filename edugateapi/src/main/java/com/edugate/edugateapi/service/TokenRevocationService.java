@@ -0,0 +1,133 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.event.TokenRevokedEvent;
+import com.edugate.edugateapi.model.RevokedToken;
+import com.edugate.edugateapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deny list of individual access tokens, by their "jti" claim (e.g., tokens handed back on logout).
+ *
+ * Revoked ids are stored in the database until the token would have expired anyway, and mirrored
+ * in memory as an exact set behind a Bloom filter. Almost every request carries a token that was
+ * never revoked, and for those the filter answers "no" from a few bit reads, without hashing into
+ * the map. Only a filter hit (a revoked token, or a ~1% false positive) goes on to the exact set.
+ *
+ * Expired entries are pruned on a schedule; the filter cannot forget entries, so it is rebuilt
+ * from the remaining ones at the same time. Each application instance keeps its own copy; a
+ * revocation made on another instance is only seen here after a restart.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int initialCapacity;
+
+    // jti -> expiry in epoch millis
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${app.jwt.revocation.initial-capacity:10000}") int initialCapacity,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.eventPublisher = eventPublisher;
+        this.initialCapacity = Math.max(1, initialCapacity);
+        this.bloomFilter = new BloomFilter(this.initialCapacity, FALSE_POSITIVE_RATE);
+        Gauge.builder("jwt.revoked.tokens", revokedJtis, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(Instant.ofEpochMilli(now))) {
+            revokedJtis.put(token.getJti(), token.getExpiresAt().toEpochMilli());
+        }
+        rebuildFilter(now);
+        log.info("Revoked tokens loaded: {}", revokedJtis.size());
+    }
+
+    /**
+     * Constant time, lock-free check run on every authenticated request.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revokedJtis.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revokes a single access token until its expiry. The in-memory copy follows once the transaction commits.
+     */
+    @Transactional
+    public void revoke(String jti, Long userId, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return; // Nothing to do for tokens without an id or that have expired already
+        }
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .userId(userId)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiresAt));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        add(event.jti(), event.expiresAt().toEpochMilli());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneExpired() {
+        Instant now = Instant.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        rebuildFilter(now.toEpochMilli());
+        if (deleted > 0) {
+            log.info("Pruned {} expired revoked tokens", deleted);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    // Writers are serialized so a rebuild cannot drop an id added while it runs; readers never lock
+    private synchronized void add(String jti, long expiresAtMillis) {
+        revokedJtis.put(jti, expiresAtMillis);
+        if (revokedJtis.size() > bloomFilter.capacity()) {
+            rebuildFilter(System.currentTimeMillis()); // Over capacity the false positive rate climbs quickly
+        } else {
+            bloomFilter.add(jti);
+        }
+    }
+
+    private synchronized void rebuildFilter(long nowMillis) {
+        revokedJtis.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        BloomFilter rebuilt = new BloomFilter(Math.max(initialCapacity, revokedJtis.size() * 2), FALSE_POSITIVE_RATE);
+        revokedJtis.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.event.UserTokensRevokedEvent;
+import com.edugate.edugateapi.model.User;
+import com.edugate.edugateapi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of per-user token versions, so a request can be authenticated from its JWT
+ * claims alone and still be rejected once the user's tokens were revoked.
+ *
+ * Only users whose version was ever bumped are kept (everyone else is at version 0), so the
+ * table stays small. It is loaded once at startup and then updated after each bump commits.
+ * Each application instance keeps its own copy; a bump made on another instance is only seen
+ * here after a restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Integer> versionsByUserId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        for (Object[] row : userRepository.findTokenVersions()) {
+            versionsByUserId.put((Long) row[0], (Integer) row[1]);
+        }
+        log.info("Token versions loaded: {} users with revoked tokens", versionsByUserId.size());
+    }
+
+    public int currentVersion(Long userId) {
+        return versionsByUserId.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. Call inside the transaction that saves the user;
+     * the in-memory table follows once it commits.
+     */
+    public void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(user.getId(), user.getTokenVersion()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(UserTokensRevokedEvent event) {
+        versionsByUserId.merge(event.userId(), event.tokenVersion(), Math::max);
+    }
+}
@@ -0,0 +1,183 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.dto.course.TrendingCourseResponse;
+import com.edugate.edugateapi.event.LiveCatalogChangedEvent;
+import com.edugate.edugateapi.event.LiveCatalogReloadedEvent;
+import com.edugate.edugateapi.event.SubscriptionsChangedEvent;
+import com.edugate.edugateapi.model.CourseTrendingScore;
+import com.edugate.edugateapi.recommend.DecayingLeaderboard;
+import com.edugate.edugateapi.repository.CourseTrendingScoreRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Trending courses: live courses ranked by recent subscriptions, each counting half as much
+ * per half-life since it was made.
+ *
+ * Every committed subscription bumps the course in a {@link DecayingLeaderboard}, so a request
+ * reads the top of the ranking and maps the ids through the live catalog without querying either
+ * table. Unsubscribing does not take a subscription back. A course that stops being live (hidden,
+ * pending removal, removed) loses its score as soon as the catalog drops it.
+ *
+ * Changed scores are checkpointed to course_trending_scores every interval and at shutdown, and
+ * restored at startup; at most one interval of subscriptions is lost if the process dies.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    // Scores that decayed below this (one subscription about 6.6 half-lives ago) are forgotten at checkpoints
+    private static final double MIN_SCORE = 0.01;
+
+    private final CourseTrendingScoreRepository scoreRepository;
+    private final LiveCourseCatalog liveCourseCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final DecayingLeaderboard leaderboard;
+
+    // Courses whose score changed or was dropped since the last checkpoint
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public TrendingService(CourseTrendingScoreRepository scoreRepository,
+                           LiveCourseCatalog liveCourseCatalog,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.trending.half-life:24h}") Duration halfLife) {
+        this.scoreRepository = scoreRepository;
+        this.liveCourseCatalog = liveCourseCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaderboard = new DecayingLeaderboard(halfLife);
+    }
+
+    /**
+     * Restores the last checkpoint. Courses that are no longer live are dropped once the catalog is loaded.
+     */
+    @PostConstruct
+    void restore() {
+        List<CourseTrendingScore> saved = transactionTemplate.execute(status -> scoreRepository.findAll());
+        for (CourseTrendingScore score : saved) {
+            leaderboard.add(score.getCourseId(), score.getScore(), score.getUpdatedAt());
+        }
+        if (!saved.isEmpty()) {
+            log.info("Restored trending scores of {} courses", saved.size());
+        }
+    }
+
+    /**
+     * The live courses with the highest trending scores, best first.
+     * @param limit Requested number of courses; clamped to [1, MAX_LIMIT]
+     */
+    public List<TrendingCourseResponse> getTrending(int limit) {
+        int maxResults = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<DecayingLeaderboard.Ranked> top = leaderboard.top(maxResults,
+                courseId -> liveCourseCatalog.findById(courseId).isPresent(), Instant.now());
+        List<TrendingCourseResponse> trending = new ArrayList<>(top.size());
+        for (DecayingLeaderboard.Ranked ranked : top) {
+            // A course hidden in between is left out
+            liveCourseCatalog.findById(ranked.item()).ifPresent(course -> trending.add(
+                    TrendingCourseResponse.builder().course(course).score(ranked.score()).build()));
+        }
+        return trending;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionsChanged(SubscriptionsChangedEvent event) {
+        if (event.delta() <= 0) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Long courseId : event.courseIds()) {
+            leaderboard.increment(courseId, now);
+            dirty.add(courseId);
+        }
+    }
+
+    @EventListener
+    public void onLiveCatalogChanged(LiveCatalogChangedEvent event) {
+        if (event.current() == null && event.previous() != null) {
+            drop(event.previous().getId());
+        }
+    }
+
+    @EventListener
+    public void onLiveCatalogReloaded(LiveCatalogReloadedEvent event) {
+        Set<Long> live = event.courses().stream().map(CourseResponse::getId).collect(Collectors.toSet());
+        dirty.addAll(leaderboard.removeIf(courseId -> !live.contains(courseId)));
+    }
+
+    /**
+     * Writes the changed scores to the database and deletes the dropped ones, in one transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.trending.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        Instant now = Instant.now();
+        dirty.addAll(leaderboard.removeBelow(MIN_SCORE, now));
+
+        List<Long> ids = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        List<Long> dropped = new ArrayList<>();
+        for (Iterator<Long> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            Long courseId = iterator.next();
+            // Unmarked before the score is read, so a subscription arriving meanwhile marks it again
+            iterator.remove();
+            double score = leaderboard.score(courseId, now);
+            if (score > 0) {
+                ids.add(courseId);
+                scores.add(score);
+            } else {
+                dropped.add(courseId);
+            }
+        }
+        if (ids.isEmpty() && dropped.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!ids.isEmpty()) {
+                    scoreRepository.saveScores(ids.toArray(Long[]::new), scores.toArray(Double[]::new), now);
+                }
+                if (!dropped.isEmpty()) {
+                    scoreRepository.deleteByCourseIdIn(dropped);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Mark them again; the next checkpoint retries
+            dirty.addAll(ids);
+            dirty.addAll(dropped);
+            log.warn("Could not checkpoint trending scores of {} courses; will retry", ids.size() + dropped.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    // --- Helper Methods ---
+
+    private void drop(Long courseId) {
+        if (leaderboard.remove(courseId)) {
+            dirty.add(courseId);
+        }
+    }
+}
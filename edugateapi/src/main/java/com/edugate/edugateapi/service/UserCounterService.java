@@ -0,0 +1,33 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the per-user subscription and course counters honest.
+ *
+ * The counters are updated in the same transaction as every subscribe, unsubscribe, course
+ * creation and deletion, so they are normally exact. This periodic recount (also run right after
+ * startup, which fills them in on an existing database) repairs any drift, e.g. from rows changed
+ * outside the application.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserCounterService {
+
+    private final UserRepository userRepository;
+
+    @Scheduled(fixedDelayString = "${app.user-counters.reconcile-interval-ms:86400000}")
+    @Transactional
+    public void reconcile() {
+        int fixed = userRepository.reconcileCounts();
+        if (fixed > 0) {
+            log.info("Reconciled subscription/course counters of {} users", fixed);
+        }
+    }
+}
@@ -133,34 +133,60 @@
 // }
 package com.edugate.edugateapi.service;
 
+import com.edugate.edugateapi.dto.CursorPageResponse;
+import com.edugate.edugateapi.dto.KeysetCursor;
 import com.edugate.edugateapi.dto.UserProfileDto;
 import com.edugate.edugateapi.dto.auth.ChangePasswordRequest;
+import com.edugate.edugateapi.dto.course.BulkSubscriptionResponse;
+import com.edugate.edugateapi.dto.course.BulkSubscriptionResponse.Outcome;
 import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.SubscriptionsChangedEvent;
+import com.edugate.edugateapi.event.UserChangedEvent;
 import com.edugate.edugateapi.exception.BadRequestException;
 import com.edugate.edugateapi.exception.ConflictException;
 import com.edugate.edugateapi.exception.ResourceNotFoundException; // <-- CHANGED
 import com.edugate.edugateapi.model.*;
 import com.edugate.edugateapi.repository.CourseRepository;
+import com.edugate.edugateapi.repository.SubscribedCourseView;
 import com.edugate.edugateapi.repository.UserRepository;
 import com.edugate.edugateapi.repository.UserSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 // import org.springframework.security.core.userdetails.UsernameNotFoundException; // <-- REMOVED
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final UserSubscriptionRepository subscriptionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final LiveCourseCatalog liveCourseCatalog;
+    private final CatalogResponseCache catalogResponseCache;
+    private final SubscriptionBitmapService subscriptionBitmapService;
+    private final RecommendationService recommendationService;
+    private final TokenVersionService tokenVersionService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Helper to get the base URL (e.g., http://localhost:8080)
     private String getBaseUrl() {
@@ -168,58 +194,128 @@ public class UserService {
     }
 
     /**
-     * Fetches all *APPROVED* courses for users to browse.
+     * Fetches all *APPROVED* courses for users to browse, in one unpaged list.
+     * Kept for clients that explicitly opt in; prefer {@link #getLiveCoursesPage}.
+     * Served from the in-memory catalog snapshot, without a database round trip.
      */
     public List<CourseResponse> getAllLiveCourses() {
-        return courseRepository.findByStatus(CourseStatus.APPROVED).stream()
-                .map(course -> CourseResponse.fromEntity(course, getBaseUrl()))
-                .collect(Collectors.toList());
+        return liveCourseCatalog.getAll();
+    }
+
+    /**
+     * Same as {@link #getAllLiveCourses()}, as pre-encoded JSON that is reused until the catalog changes.
+     */
+    public CatalogResponseCache.EncodedJson getAllLiveCoursesJson() {
+        return catalogResponseCache.getAllLiveCourses();
+    }
+
+    /**
+     * Fetches one page of *APPROVED* courses, newest first.
+     * Uses keyset pagination on (createdAt, id) over the in-memory catalog snapshot.
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param size Requested page size; clamped to [1, MAX_PAGE_SIZE]
+     * @param category Optional exact category to filter on
+     */
+    public CursorPageResponse<CourseResponse> getLiveCoursesPage(String cursor, int size, String category) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        String categoryFilter = (category == null || category.isBlank()) ? null : category;
+        return liveCourseCatalog.getPage(categoryFilter, after, pageSize);
+    }
+
+    /**
+     * Same as {@link #getLiveCoursesPage(String, int, String)}, with every course flagged as subscribed
+     * or not for the user. The flags come from the user's in-memory subscription bitmap, not a join.
+     */
+    public CursorPageResponse<CourseResponse> getLiveCoursesPage(String cursor, int size, String category, User user) {
+        CursorPageResponse<CourseResponse> page = getLiveCoursesPage(cursor, size, category);
+        page.setItems(subscriptionBitmapService.decorate(user.getId(), page.getItems()));
+        return page;
+    }
+
+    /**
+     * ETag of the live catalog as a whole; changes whenever any live course changes.
+     */
+    public String getLiveCatalogETag() {
+        return liveCourseCatalog.etag();
+    }
+
+    /**
+     * ETag of the live catalog for responses without subscriber counts; unlike {@link #getLiveCatalogETag()},
+     * it does not change when only subscriber counts do.
+     */
+    public String getLiveCatalogContentETag() {
+        return liveCourseCatalog.contentEtag();
+    }
+
+    /**
+     * ETag of the live catalog as seen by one user; also changes when the user's subscriptions change.
+     */
+    public String getLiveCatalogETag(User user) {
+        return liveCourseCatalog.etag(subscriptionBitmapService.stamp(user.getId()));
+    }
+
+    /**
+     * ETag of a single live course, or empty if the course is not live.
+     */
+    public Optional<String> getLiveCourseETag(Long courseId) {
+        return liveCourseCatalog.etag(courseId);
     }
 
     /**
      * Fetches a single approved course by its ID.
      */
     public CourseResponse getLiveCourseById(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        return liveCourseCatalog.findById(courseId).orElseThrow(() -> courseNotLive(courseId));
+    }
 
-        if (!course.getStatus().equals(CourseStatus.APPROVED)) {
-            // Or, you could show PENDING courses to the instructor who owns them
-            throw new BadRequestException("This course is not currently available.");
+    /**
+     * "Users who took this also took": live courses most often subscribed to together with the given
+     * live course, most common first, each flagged as subscribed or not for the user.
+     */
+    public List<CourseResponse> getRelatedCourses(Long courseId, int limit, User user) {
+        if (liveCourseCatalog.findById(courseId).isEmpty()) {
+            throw courseNotLive(courseId);
         }
-        
-        return CourseResponse.fromEntity(course, getBaseUrl());
+        return subscriptionBitmapService.decorate(user.getId(), recommendationService.getRelated(courseId, limit));
+    }
+
+    /**
+     * Same as {@link #getLiveCourseById}, as pre-encoded JSON that is reused until the course changes.
+     */
+    public CatalogResponseCache.EncodedJson getLiveCourseJson(Long courseId) {
+        return catalogResponseCache.getLiveCourse(courseId).orElseThrow(() -> courseNotLive(courseId));
+    }
+
+    // Only a miss goes to the database, to tell "does not exist" from "not live"
+    private RuntimeException courseNotLive(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            return new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        // Or, you could show PENDING courses to the instructor who owns them
+        return new BadRequestException("This course is not currently available.");
     }
 
     /**
      * Subscribes a user to a specific course.
+     * A single conditional insert; safe when the same user subscribes concurrently (no duplicate-key errors).
      */
     @Transactional
     public void subscribeToCourse(Long courseId, User user) {
-        Course course = courseRepository.findById(courseId)
-                 // v-- CHANGED --v
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
-
-        if (!course.getStatus().equals(CourseStatus.APPROVED)) {
-            throw new BadRequestException("Cannot subscribe to a non-approved course.");
+        if (subscriptionRepository.insertIfLive(user.getId(), courseId) == 1) {
+            userRepository.addSubscriptionCount(user.getId(), 1);
+            eventPublisher.publishEvent(new SubscriptionsChangedEvent(user.getId(), List.of(courseId), 1));
+            return;
         }
 
-        // Create the composite key
-        UserSubscriptionId id = new UserSubscriptionId(user.getId(), courseId);
-
-        // Check if already subscribed
-        if (subscriptionRepository.existsById(id)) {
+        // Nothing inserted: only now find out why
+        if (subscriptionRepository.existsById(new UserSubscriptionId(user.getId(), courseId))) {
             throw new ConflictException("User is already subscribed to this course.");
         }
-
-        // Create the new subscription link
-        UserSubscription subscription = UserSubscription.builder()
-                .id(id)
-                .user(user)
-                .course(course)
-                .build();
-        
-        subscriptionRepository.save(subscription);
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        throw new BadRequestException("Cannot subscribe to a non-approved course.");
     }
 
     /**
@@ -227,28 +323,142 @@ public class UserService {
      */
     @Transactional
     public void unsubscribeFromCourse(Long courseId, User user) {
-        // Create the composite key
-        UserSubscriptionId id = new UserSubscriptionId(user.getId(), courseId);
-
-        // Check if the subscription exists
-        if (!subscriptionRepository.existsById(id)) {
-             // v-- CHANGED --v
+        // A single DELETE; of two concurrent unsubscribes only one deletes the row, the other gets 404
+        if (subscriptionRepository.deleteByUserIdAndCourseIdIn(user.getId(), List.of(courseId)).isEmpty()) {
             throw new ResourceNotFoundException("Subscription not found for user " + user.getId() + " and course " + courseId);
         }
+        userRepository.addSubscriptionCount(user.getId(), -1);
+        eventPublisher.publishEvent(new SubscriptionsChangedEvent(user.getId(), List.of(courseId), -1));
+    }
+
+    /**
+     * Subscribes a user to many courses in one transaction.
+     * All live courses are subscribed to with a single INSERT ... ON CONFLICT DO NOTHING, so a
+     * subscription created concurrently for one of them (e.g., the same request sent twice) only
+     * makes that course ALREADY_SUBSCRIBED. Only the courses not inserted are looked up again,
+     * to tell why; that read sees any status change committed in between.
+     */
+    @Transactional
+    public BulkSubscriptionResponse bulkSubscribe(List<Long> courseIds, User user) {
+        Set<Long> ids = new LinkedHashSet<>(courseIds); // Drop duplicates, keep request order
+        Set<Long> inserted = new HashSet<>(subscriptionRepository.insertAllIfLive(user.getId(), ids));
+
+        Set<Long> notInserted = new HashSet<>(ids);
+        notInserted.removeAll(inserted);
+        Set<Long> subscribed = new HashSet<>();
+        Map<Long, CourseStatus> statuses = new HashMap<>();
+        if (!notInserted.isEmpty()) {
+            subscribed.addAll(subscriptionRepository.findSubscribedCourseIds(user.getId(), notInserted));
+            for (Object[] row : courseRepository.findStatusesByIdIn(notInserted)) {
+                statuses.put((Long) row[0], (CourseStatus) row[1]);
+            }
+        }
 
-        subscriptionRepository.deleteById(id);
+        List<BulkSubscriptionResponse.Item> results = new ArrayList<>(ids.size());
+        for (Long courseId : ids) {
+            Outcome outcome;
+            if (inserted.contains(courseId)) {
+                outcome = Outcome.SUBSCRIBED;
+            } else if (subscribed.contains(courseId)) {
+                outcome = Outcome.ALREADY_SUBSCRIBED;
+            } else if (statuses.containsKey(courseId)) {
+                outcome = Outcome.NOT_AVAILABLE;
+            } else {
+                outcome = Outcome.NOT_FOUND;
+            }
+            results.add(new BulkSubscriptionResponse.Item(courseId, outcome));
+        }
+
+        if (!inserted.isEmpty()) {
+            userRepository.addSubscriptionCount(user.getId(), inserted.size());
+            eventPublisher.publishEvent(new SubscriptionsChangedEvent(user.getId(), inserted, 1));
+        }
+        return new BulkSubscriptionResponse(inserted.size(), results);
     }
 
     /**
-     * Fetches all courses a user is currently subscribed to.
+     * Unsubscribes a user from many courses with a single DELETE.
      */
+    @Transactional
+    public BulkSubscriptionResponse bulkUnsubscribe(List<Long> courseIds, User user) {
+        Set<Long> ids = new LinkedHashSet<>(courseIds); // Drop duplicates, keep request order
+        Set<Long> deleted = new HashSet<>(subscriptionRepository.deleteByUserIdAndCourseIdIn(user.getId(), ids));
+        if (!deleted.isEmpty()) {
+            userRepository.addSubscriptionCount(user.getId(), -deleted.size());
+            eventPublisher.publishEvent(new SubscriptionsChangedEvent(user.getId(), deleted, -1));
+        }
+
+        List<BulkSubscriptionResponse.Item> results = new ArrayList<>(ids.size());
+        for (Long courseId : ids) {
+            results.add(new BulkSubscriptionResponse.Item(courseId,
+                    deleted.contains(courseId) ? Outcome.UNSUBSCRIBED : Outcome.NOT_SUBSCRIBED));
+        }
+        return new BulkSubscriptionResponse(deleted.size(), results);
+    }
+
+    /**
+     * Fetches all courses a user is currently subscribed to, in one unpaged list.
+     * Kept for clients that explicitly opt in; prefer {@link #getMySubscriptionsPage}.
+     */
+    @Transactional(readOnly = true)
     public List<CourseResponse> getMySubscriptions(User user) {
-        // Use the new custom query from CourseRepository
+        String baseUrl = getBaseUrl();
         return courseRepository.findCoursesBySubscriberId(user.getId()).stream()
-                .map(course -> CourseResponse.fromEntity(course, getBaseUrl()))
+                .map(view -> CourseResponse.fromView(view, baseUrl))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Fetches one page of the courses a user is subscribed to, most recently subscribed first.
+     * One query per page (course and creator joined), keyset-paginated on (subscribedAt, courseId);
+     * the total comes from the user's maintained subscription counter instead of a COUNT(*).
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param size Requested page size; clamped to [1, MAX_PAGE_SIZE]
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CourseResponse> getMySubscriptionsPage(User user, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // One extra row tells whether another page follows
+        List<SubscribedCourseView> rows = (after == null)
+                ? subscriptionRepository.findPageBySubscriberId(user.getId(), Limit.of(pageSize + 1))
+                : subscriptionRepository.findPageBySubscriberIdAfter(user.getId(), after.timestamp(), after.id(),
+                        Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<SubscribedCourseView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            SubscribedCourseView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.subscribedAt(), last.id()).encode();
+        }
+
+        String baseUrl = getBaseUrl();
+        return CursorPageResponse.<CourseResponse>builder()
+                .items(page.stream()
+                        .map(view -> CourseResponse.fromView(view.toCourseView(), baseUrl))
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .total((long) userRepository.findSubscriptionCount(user.getId()).orElse(0))
+                .build();
+    }
+
+    /**
+     * Gets a user's own profile information.
+     * Read from the database because the authenticated principal may only carry the JWT claims.
+     */
+    @Transactional(readOnly = true)
+    public UserProfileDto getMyProfile(User user) {
+        User currentUser = userRepository.findById(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + user.getId()));
+
+        UserProfileDto profile = new UserProfileDto();
+        profile.setFullName(currentUser.getFullName());
+        profile.setPhoneNumber(currentUser.getPhoneNumber());
+        return profile;
+    }
+
     /**
      * Updates a user's own profile information.
      */
@@ -263,6 +473,7 @@ public class UserService {
         userToUpdate.setPhoneNumber(profileDto.getPhoneNumber());
 
         User savedUser = userRepository.save(userToUpdate);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getEmail()));
 
         // Return the updated DTO
         UserProfileDto updatedDto = new UserProfileDto();
@@ -291,6 +502,9 @@ public class UserService {
 
         // Encode and set the new password
         userToUpdate.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        tokenVersionService.revokeTokens(userToUpdate); // Sign out every existing session
+        refreshTokenService.revokeAll(userToUpdate.getId());
         userRepository.save(userToUpdate);
+        eventPublisher.publishEvent(new UserChangedEvent(userToUpdate.getEmail()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.edugate.edugateapi.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size-bounded cache of JWT claims whose signature has already been verified.
+ *
+ * Entries are keyed by a SHA-256 digest of the compact token, so the raw tokens are never kept
+ * in memory. An entry is only served until the token's own "exp" time; after that it counts as
+ * a miss and the caller re-verifies (which then fails as expired).
+ * When the cache is full, expired entries are swept first; if it is still full, an arbitrary
+ * tenth of the entries is dropped. This keeps inserts cheap without a global LRU lock.
+ *
+ * Thread-safe.
+ */
+final class VerifiedClaimsCache {
+
+    private final int maxEntries;
+    private final Map<TokenKey, Entry> entries = new ConcurrentHashMap<>();
+
+    VerifiedClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return The cached claims, or null when the token was not seen or has expired since
+     */
+    Claims get(TokenKey key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(TokenKey key, Claims claims, long nowMillis) {
+        if (maxEntries <= 0 || claims.getExpiration() == null) {
+            return; // Never cache tokens that do not expire
+        }
+        if (entries.size() >= maxEntries) {
+            evict(nowMillis);
+        }
+        entries.put(key, new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // --- Helper Methods ---
+
+    private void evict(long nowMillis) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<TokenKey> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    /**
+     * First 128 bits of the SHA-256 digest of a token.
+     */
+    record TokenKey(long high, long low) {
+
+        static TokenKey of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenKey(buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e); // Required on every JVM
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.edugate.edugateapi.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class CoOccurrenceModelTest {
+
+    @Test
+    void removingUncountedPairCreatesNoNegativeCount() {
+        CoOccurrenceModel model = new CoOccurrenceModel(5);
+        model.apply(new long[]{1}, new long[]{2}, 1);
+
+        // Pairs (1, 3) and (2, 3) were never counted
+        model.apply(new long[]{1, 2}, new long[]{3}, -1);
+        // Losing (1, 2) rescans row 1, which would now pick up a negative (1, 3)
+        model.apply(new long[]{1}, new long[]{2}, -1);
+
+        assertArrayEquals(new long[0], model.related(1, 5));
+        assertArrayEquals(new long[0], model.related(3, 5));
+    }
+
+    @Test
+    void countsStopAtZero() {
+        CoOccurrenceModel model = new CoOccurrenceModel(5);
+        model.apply(new long[]{1}, new long[]{5}, 1); // Keeps row 1 alive throughout
+        model.apply(new long[]{1}, new long[]{2}, 1);
+        model.apply(new long[]{1}, new long[]{2}, -1);
+        model.apply(new long[]{1}, new long[]{2}, -1);
+        model.apply(new long[]{1}, new long[]{2}, 1);
+
+        // Gaining and losing (1, 3) rescans row 1: (1, 2) must still count one user
+        model.apply(new long[]{1}, new long[]{3}, 1);
+        model.apply(new long[]{1}, new long[]{3}, -1);
+        assertArrayEquals(new long[]{5, 2}, model.related(1, 5));
+    }
+}
@@ -0,0 +1,103 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.CourseResponse;
+import com.edugate.edugateapi.event.SubscriptionsChangedEvent;
+import com.edugate.edugateapi.repository.UserSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Users over the max-subscriptions-per-user limit are left out of the model, including when
+ * they cross the limit after a rebuild.
+ */
+class RecommendationServiceTest {
+
+    private static final int MAX_SUBSCRIPTIONS = 3;
+
+    private UserSubscriptionRepository subscriptionRepository;
+    private RecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionRepository = mock(UserSubscriptionRepository.class);
+        LiveCourseCatalog catalog = mock(LiveCourseCatalog.class);
+        when(catalog.findById(anyLong()))
+                .thenAnswer(call -> Optional.of(CourseResponse.builder().id(call.getArgument(0)).build()));
+        service = new RecommendationService(subscriptionRepository, catalog,
+                mock(PlatformTransactionManager.class), 20, MAX_SUBSCRIPTIONS);
+    }
+
+    @Test
+    void userDroppingBelowLimitAfterRebuildIsAddedBackBeforeLosingPairs() {
+        // User 10 holds {1, 2}; user 20 holds four courses and is left out of the rebuild
+        when(subscriptionRepository.streamAllOrderByUserId()).thenReturn(Stream.of(
+                row(10, 1), row(10, 2),
+                row(20, 1), row(20, 2), row(20, 3), row(20, 4)));
+        service.rebuild();
+        assertEquals(List.of(2L), relatedIds(1));
+
+        // User 20 gets back to the limit: all their pairs are counted from now on
+        unsubscribe(20, 4, List.of(1L, 2L, 3L));
+        assertEquals(List.of(2L, 3L), relatedIds(1));
+        assertEquals(List.of(2L, 1L), relatedIds(3));
+
+        // ...so losing course 3 takes away exactly what was added, and nothing goes negative
+        unsubscribe(20, 3, List.of(1L, 2L));
+        assertEquals(List.of(2L), relatedIds(1));
+        assertEquals(List.of(), relatedIds(3));
+    }
+
+    @Test
+    void userGoingOverLimitIsTakenOutAndPutBackOnReturn() {
+        when(subscriptionRepository.streamAllOrderByUserId()).thenReturn(Stream.of(
+                row(10, 1), row(10, 2),
+                row(20, 1), row(20, 2), row(20, 3)));
+        service.rebuild();
+        assertEquals(List.of(2L, 3L), relatedIds(1));
+
+        subscribe(20, 4, List.of(1L, 2L, 3L, 4L));
+        assertEquals(List.of(2L), relatedIds(1));
+        assertEquals(List.of(), relatedIds(4));
+
+        // Still over the limit: ignored
+        subscribe(20, 5, List.of(1L, 2L, 3L, 4L, 5L));
+        unsubscribe(20, 5, List.of(1L, 2L, 3L, 4L));
+        assertEquals(List.of(), relatedIds(4));
+
+        unsubscribe(20, 4, List.of(1L, 2L, 3L));
+        assertEquals(List.of(2L, 3L), relatedIds(1));
+        assertEquals(List.of(), relatedIds(4));
+    }
+
+    // --- Helper Methods ---
+
+    private void subscribe(long userId, long courseId, List<Long> coursesAfter) {
+        when(subscriptionRepository.findCourseIdsBySubscriberId(userId)).thenReturn(coursesAfter);
+        service.onSubscriptionsChanged(new SubscriptionsChangedEvent(userId, List.of(courseId), 1));
+    }
+
+    private void unsubscribe(long userId, long courseId, List<Long> coursesAfter) {
+        when(subscriptionRepository.findCourseIdsBySubscriberId(userId)).thenReturn(coursesAfter);
+        service.onSubscriptionsChanged(new SubscriptionsChangedEvent(userId, List.of(courseId), -1));
+    }
+
+    private List<Long> relatedIds(long courseId) {
+        return service.getRelated(courseId, RecommendationService.MAX_LIMIT).stream()
+                .map(CourseResponse::getId)
+                .toList();
+    }
+
+    private static Object[] row(long userId, long courseId) {
+        return new Object[]{userId, courseId};
+    }
+}
@@ -0,0 +1,208 @@
+package com.edugate.edugateapi.service;
+
+import com.edugate.edugateapi.dto.course.BulkSubscriptionResponse;
+import com.edugate.edugateapi.dto.course.BulkSubscriptionResponse.Outcome;
+import com.edugate.edugateapi.event.CourseChangedEvent;
+import com.edugate.edugateapi.exception.ConflictException;
+import com.edugate.edugateapi.model.Course;
+import com.edugate.edugateapi.model.CourseStatus;
+import com.edugate.edugateapi.model.Role;
+import com.edugate.edugateapi.model.User;
+import com.edugate.edugateapi.repository.CourseRepository;
+import com.edugate.edugateapi.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many concurrent subscribes by the same user to the same courses, through the real
+ * INSERT ... ON CONFLICT paths: exactly one succeeds per course, every other one is a 409
+ * (or ALREADY_SUBSCRIBED in bulk), and none fails on the primary key.
+ */
+@SpringBootTest
+class UserServiceSubscribeConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User instructor;
+    private User subscriber;
+    private final List<Long> courseIds = new ArrayList<>();
+
+    @BeforeEach
+    void createUsers() {
+        instructor = userRepository.save(newUser(Role.ROLE_INSTRUCTOR));
+        subscriber = userRepository.save(newUser(Role.ROLE_USER));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Long courseId : courseIds) {
+            jdbcTemplate.update("DELETE FROM user_subscriptions WHERE course_id = ?", courseId);
+            courseRepository.deleteById(courseId);
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        }
+        userRepository.deleteById(subscriber.getId());
+        userRepository.deleteById(instructor.getId());
+    }
+
+    @Test
+    void concurrentSubscribesToSameCourseCreateOneSubscription() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long courseId = createLiveCourse();
+                CountDownLatch startGate = new CountDownLatch(1);
+                List<Future<?>> calls = new ArrayList<>(THREADS);
+                for (int i = 0; i < THREADS; i++) {
+                    calls.add(executor.submit(() -> {
+                        startGate.await();
+                        userService.subscribeToCourse(courseId, subscriber);
+                        return null;
+                    }));
+                }
+                startGate.countDown();
+
+                int succeeded = 0;
+                int conflicts = 0;
+                List<Throwable> unexpected = new ArrayList<>();
+                for (Future<?> call : calls) {
+                    try {
+                        call.get(60, TimeUnit.SECONDS);
+                        succeeded++;
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof ConflictException) {
+                            conflicts++;
+                        } else {
+                            unexpected.add(e.getCause()); // e.g., DataIntegrityViolationException on the primary key
+                        }
+                    }
+                }
+
+                assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+                assertEquals(1, succeeded);
+                assertEquals(THREADS - 1, conflicts);
+                assertEquals(1, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM user_subscriptions WHERE user_id = ? AND course_id = ?",
+                        Integer.class, subscriber.getId(), courseId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentBulkSubscribesGiveEachCourseOneSubscription() throws Exception {
+        List<Long> liveIds = List.of(createLiveCourse(), createLiveCourse(), createLiveCourse());
+        Long hiddenId = createCourse(CourseStatus.HIDDEN);
+        Long missingId = Long.MAX_VALUE;
+        List<Long> requested = new ArrayList<>(liveIds);
+        requested.add(hiddenId);
+        requested.add(missingId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<BulkSubscriptionResponse>> calls = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                calls.add(executor.submit(() -> {
+                    startGate.await();
+                    return userService.bulkSubscribe(requested, subscriber);
+                }));
+            }
+            startGate.countDown();
+
+            Map<Long, Integer> subscribedCount = new HashMap<>();
+            int changed = 0;
+            for (Future<BulkSubscriptionResponse> call : calls) {
+                BulkSubscriptionResponse response = call.get(60, TimeUnit.SECONDS); // Throws on any failure
+                changed += response.getChanged();
+                for (BulkSubscriptionResponse.Item item : response.getResults()) {
+                    Long courseId = item.getCourseId();
+                    if (courseId.equals(hiddenId)) {
+                        assertEquals(Outcome.NOT_AVAILABLE, item.getOutcome());
+                    } else if (courseId.equals(missingId)) {
+                        assertEquals(Outcome.NOT_FOUND, item.getOutcome());
+                    } else if (item.getOutcome() == Outcome.SUBSCRIBED) {
+                        subscribedCount.merge(courseId, 1, Integer::sum);
+                    } else {
+                        assertEquals(Outcome.ALREADY_SUBSCRIBED, item.getOutcome());
+                    }
+                }
+            }
+
+            assertEquals(liveIds.size(), changed);
+            for (Long courseId : liveIds) {
+                assertEquals(1, subscribedCount.get(courseId));
+                assertEquals(1, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM user_subscriptions WHERE user_id = ? AND course_id = ?",
+                        Integer.class, subscriber.getId(), courseId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private Long createLiveCourse() {
+        return createCourse(CourseStatus.APPROVED);
+    }
+
+    private Long createCourse(CourseStatus status) {
+        Course course = courseRepository.save(Course.builder()
+                .courseName("Concurrency Test Course")
+                .instructor("Test Instructor")
+                .category("Testing")
+                .createdBy(instructor)
+                .status(status)
+                .build());
+        courseIds.add(course.getId());
+        // Known to the live catalog, so that deleting it later is noticed by its indexes
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return course.getId();
+    }
+
+    private static User newUser(Role role) {
+        return User.builder()
+                .fullName("Concurrency Test")
+                .email("concurrency-" + UUID.randomUUID() + "@test.local")
+                .password("not-a-real-hash")
+                .role(role)
+                .build();
+    }
+}